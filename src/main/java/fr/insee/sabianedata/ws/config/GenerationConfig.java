@@ -0,0 +1,26 @@
+package fr.insee.sabianedata.ws.config;
+
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
+import fr.insee.sabianedata.ws.service.IdGenerator;
+import fr.insee.sabianedata.ws.service.RandomUuidIdGenerator;
+import fr.insee.sabianedata.ws.service.SeededIdGenerator;
+import fr.insee.sabianedata.ws.service.UuidV7IdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GenerationConfig {
+
+	@Bean
+	public IdGenerator idGenerator(GenerationProperties generationProperties) {
+		return switch (generationProperties.idGenerator()) {
+			case "uuid-v7" -> new UuidV7IdGenerator();
+			case "random" -> new RandomUuidIdGenerator();
+			case "seeded" -> new SeededIdGenerator(generationProperties);
+			default -> throw new IllegalArgumentException(String.format(
+					"Unknown survey-unit id generator '%s' (application.generation.id-generator), expected one of : "
+							+ "uuid-v7, random, seeded", generationProperties.idGenerator()));
+		};
+	}
+
+}
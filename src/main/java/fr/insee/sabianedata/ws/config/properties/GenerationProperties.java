@@ -0,0 +1,20 @@
+package fr.insee.sabianedata.ws.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "application.generation")
+public record GenerationProperties(
+		@DefaultValue("4") @Positive(message = "Training course generation needs at least one thread (application.generation.threads)") int threads,
+		@DefaultValue("256") @Positive(message = "Survey-unit blocks need at least one survey unit (application.generation.survey-unit-block-size)") int surveyUnitBlockSize,
+		@DefaultValue("uuid-v7") String idGenerator,
+		@DefaultValue("0") long idSeed,
+		@DefaultValue("64") @PositiveOrZero(message = "Campaign header cache can't have a negative size (application.generation.campaign-header-cache-size)") int campaignHeaderCacheSize,
+		@DefaultValue("0") @PositiveOrZero(message = "Pipeline chunks can't have a negative size (application.generation.pipeline-chunk-size)") int pipelineChunkSize) {
+
+	public boolean isPipelineEnabled() {
+		return pipelineChunkSize > 0;
+	}
+}
@@ -0,0 +1,34 @@
+package fr.insee.sabianedata.ws.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "application.scenarios")
+public record ScenarioProperties(
+		@DefaultValue("4") @Positive(message = "Scenario loading needs at least one thread (application.scenarios.loading-threads)") int loadingThreads,
+		String extractionCacheFolder,
+		@DefaultValue("false") boolean lazyLoading,
+		String watchedFolder,
+		@DefaultValue("4") @Positive(message = "Survey-unit extraction needs at least one thread (application.scenarios.survey-unit-threads)") int surveyUnitThreads,
+		@DefaultValue("1000") @Positive(message = "Survey-unit partitions need at least one row (application.scenarios.survey-unit-partition-size)") int surveyUnitPartitionSize,
+		DataSize memoryBudget,
+		DataSize nomenclatureDiskThreshold) {
+
+	public boolean isExtractionCacheEnabled() {
+		return extractionCacheFolder != null && !extractionCacheFolder.isBlank();
+	}
+
+	public boolean isWatchEnabled() {
+		return watchedFolder != null && !watchedFolder.isBlank();
+	}
+
+	public boolean isMemoryBudgetEnabled() {
+		return memoryBudget != null && memoryBudget.toBytes() > 0;
+	}
+
+	public boolean isNomenclatureDiskThresholdEnabled() {
+		return nomenclatureDiskThreshold != null && nomenclatureDiskThreshold.toBytes() > 0;
+	}
+}
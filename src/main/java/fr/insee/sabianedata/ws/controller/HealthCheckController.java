@@ -1,8 +1,12 @@
 package fr.insee.sabianedata.ws.controller;
 
 import fr.insee.sabianedata.ws.model.ResponseModel;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioLoadingStatus;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
 import fr.insee.sabianedata.ws.service.PearlApiService;
 import fr.insee.sabianedata.ws.service.QueenApiService;
+import fr.insee.sabianedata.ws.service.TrainingScenarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,9 +15,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * HealthCheck is the Controller used to check if own API and Pearl and Queen
- * API are alive
+ * API are alive, and how far scenario loading went
  *
  * @author Simon Demaziere
  */
@@ -25,6 +31,7 @@ public class HealthCheckController {
 
 	private final PearlApiService pearlApiService;
 	private final QueenApiService queenApiService;
+	private final TrainingScenarioService trainingScenarioService;
 
 	private static final String OK = "OK";
 	private static final String KO = "KO";
@@ -41,6 +48,24 @@ public class HealthCheckController {
 
 	}
 
+	@Operation(summary = "Scenario loading progress", description = "Number of scenarios loaded, failed, and available")
+	@GetMapping(path = "/healthcheck/scenarios")
+	public ResponseEntity<ScenarioLoadingStatus> scenarioLoadingStatus() {
+		return ResponseEntity.ok().body(trainingScenarioService.getLoadingStatus());
+	}
+
+	@Operation(summary = "Scenario validation report", description = "Broken references of each loaded scenario : invalid scenarios can't be generated")
+	@GetMapping(path = "/healthcheck/scenarios/validation")
+	public ResponseEntity<List<ScenarioValidationReport>> scenarioValidationReport() {
+		return ResponseEntity.ok().body(trainingScenarioService.getValidationReports());
+	}
+
+	@Operation(summary = "Scenario heap report", description = "Estimated heap of each scenario in memory, as loaded and once compacted")
+	@GetMapping(path = "/healthcheck/scenarios/heap")
+	public ResponseEntity<List<ScenarioHeapReport>> scenarioHeapReport() {
+		return ResponseEntity.ok().body(trainingScenarioService.getHeapReports());
+	}
+
 	@Operation(summary = "Healthcheck, check if Queen api is alive")
 	@GetMapping(path = "/queen/api/healthcheck")
 	public ResponseEntity<Object> healthCheckQueen() {
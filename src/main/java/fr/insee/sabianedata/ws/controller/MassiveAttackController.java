@@ -2,10 +2,13 @@ package fr.insee.sabianedata.ws.controller;
 
 import fr.insee.sabianedata.ws.model.ResponseModel;
 import fr.insee.sabianedata.ws.model.massive_attack.OrganisationUnitDto;
-import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioSummary;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioUploadStatus;
 import fr.insee.sabianedata.ws.model.pearl.Campaign;
 import fr.insee.sabianedata.ws.service.MassiveAttackService;
 import fr.insee.sabianedata.ws.service.PearlApiService;
+import fr.insee.sabianedata.ws.service.ScenarioUploadService;
 import fr.insee.sabianedata.ws.service.UtilsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,8 +18,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -31,13 +39,20 @@ public class MassiveAttackController {
 	private final MassiveAttackService massiveAttackService;
 	private final PearlApiService pearlApiService;
 	private final UtilsService utilsService;
+	private final ScenarioUploadService scenarioUploadService;
 
-	@Operation(summary = "Return list of available training courses")
+	@Operation(summary = "Return list of available training courses", description = "Each loaded scenario comes " +
+			"with the size of its campaigns and the calls of a generation. The list is tagged : a request whose " +
+			"If-None-Match header holds the current tag gets a 304 response without body.")
 	@GetMapping("training-course-scenario")
-	public ResponseEntity<List<TrainingScenario>> getTrainingScenariiTitles() {
+	public ResponseEntity<List<ScenarioSummary>> getTrainingScenariiTitles(WebRequest request) {
 		try {
-			List<TrainingScenario> scenarii = massiveAttackService.getTrainingScenariosTitles();
-			return new ResponseEntity<>(scenarii, HttpStatus.OK);
+			ScenarioListing listing = massiveAttackService.getTrainingScenariosTitles();
+			// the response status and headers are then set by the request
+			if (request.checkNotModified(listing.etag())) {
+				return null;
+			}
+			return ResponseEntity.ok().eTag(listing.etag()).body(listing.scenarios());
 		} catch (Exception e) {
 			log.error("Can't get training scenarii titles");
 			log.error(e.getMessage());
@@ -45,6 +60,29 @@ public class MassiveAttackController {
 		}
 	}
 
+	@Operation(summary = "Upload a training scenario", description = "Zipped scenario folder : info.json and one " +
+			"sub-folder per campaign, holding pearl and queen workbooks. The scenario is extracted asynchronously.")
+	@PostMapping(value = "training-course-scenario", consumes = {"application/zip",
+			MediaType.APPLICATION_OCTET_STREAM_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ScenarioUploadStatus> uploadTrainingScenario(InputStream scenarioArchive) throws IOException {
+		log.info("USER : {} | upload scenario", utilsService.getRequesterId());
+		ScenarioUploadStatus status = scenarioUploadService.upload(scenarioArchive);
+		URI statusLocation = ServletUriComponentsBuilder.fromCurrentRequest()
+				.path("/uploads/{uploadId}")
+				.buildAndExpand(status.id())
+				.toUri();
+		return ResponseEntity.accepted().location(statusLocation).body(status);
+	}
+
+	@Operation(summary = "Return the status of a training scenario upload")
+	@GetMapping(value = "training-course-scenario/uploads/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ScenarioUploadStatus> getTrainingScenarioUploadStatus(
+			@PathVariable(value = "uploadId") String uploadId) {
+		return scenarioUploadService.getUploadStatus(uploadId)
+				.map(status -> ResponseEntity.ok().body(status))
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find scenario upload"));
+	}
+
 	@Operation(summary = "Create a training course")
 	@PostMapping(value = "training-course", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<ResponseModel> generateTrainingCourse(@RequestParam(value =
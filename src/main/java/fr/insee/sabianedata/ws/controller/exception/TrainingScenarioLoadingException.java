@@ -1,6 +1,10 @@
 package fr.insee.sabianedata.ws.controller.exception;
 
 public class TrainingScenarioLoadingException extends RuntimeException {
+	public TrainingScenarioLoadingException(String message) {
+		super(message);
+	}
+
 	public TrainingScenarioLoadingException(String message, Throwable cause) {
 		super(message, cause);
 	}
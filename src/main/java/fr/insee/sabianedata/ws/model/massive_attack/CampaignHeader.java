@@ -0,0 +1,18 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+
+import java.util.Map;
+
+/**
+ * Everything a training course derives from a template campaign and its configuration, the trainees aside. Shared
+ * by the training courses of the same configuration : never modified once built.
+ *
+ * @param pearlCampaign          generated Pearl campaign, with its visibilities
+ * @param queenCampaign          generated Queen campaign, with its questionnaire models
+ * @param questionnaireIdMapping generated questionnaire model ids, by template questionnaire model id
+ */
+public record CampaignHeader(PearlCampaign pearlCampaign, QueenCampaign queenCampaign,
+							 Map<String, String> questionnaireIdMapping) {
+}
@@ -0,0 +1,20 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+/**
+ * Size of a campaign of a scenario, and of what a training course posts for it
+ *
+ * @param campaign                campaign id
+ * @param surveyUnits             number of survey units
+ * @param questionnaireModels     number of questionnaire models
+ * @param nomenclatures           number of nomenclatures
+ * @param campaignPayloadBytes    bytes posted once per training course : campaigns, questionnaire models,
+ *                                nomenclatures and assignments
+ * @param surveyUnitPayloadBytes  bytes posted for the survey units of a single copy of the campaign
+ * @param campaignCalls           calls posting the campaign-level entities, and the survey units and assignments
+ *                                when posted at once
+ * @param surveyUnitCalls         calls posting the survey units of a single copy of the campaign
+ */
+public record CampaignSummary(String campaign, int surveyUnits, int questionnaireModels, int nomenclatures,
+							  long campaignPayloadBytes, long surveyUnitPayloadBytes, int campaignCalls,
+							  int surveyUnitCalls) {
+}
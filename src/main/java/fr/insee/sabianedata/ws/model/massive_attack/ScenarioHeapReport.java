@@ -0,0 +1,11 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+/**
+ * Estimated heap of a loaded scenario, before and after its compaction
+ *
+ * @param label          scenario label
+ * @param loadedBytes    estimated heap of the scenario as loaded
+ * @param compactedBytes estimated heap of the scenario once compacted, as kept in memory
+ */
+public record ScenarioHeapReport(String label, long loadedBytes, long compactedBytes) {
+}
@@ -0,0 +1,12 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+import java.util.List;
+
+/**
+ * The scenarios available for generation, as listed to the users
+ *
+ * @param etag      entity tag of the listing, changed whenever its content changes
+ * @param scenarios available scenarios, by label
+ */
+public record ScenarioListing(String etag, List<ScenarioSummary> scenarios) {
+}
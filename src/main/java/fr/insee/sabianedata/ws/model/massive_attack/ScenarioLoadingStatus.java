@@ -0,0 +1,25 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+/**
+ * Progress of the scenario loading
+ *
+ * @param generation               version of the scenarios currently served, increased by each reload
+ * @param scenarios                number of available scenarios
+ * @param loaded                   number of scenarios whose campaigns are extracted and kept in memory
+ * @param evicted                  number of loaded scenarios evicted from memory, loaded again on their next access
+ * @param failed                   number of scenarios which couldn't be loaded
+ * @param invalid                  number of loaded scenarios with broken references, which can't be generated
+ * @param lastReloadDurationMillis duration of the last reload of the scenarii folder, null if never reloaded
+ * @param resident                 number of loaded scenarios currently in memory
+ * @param residentBytes            estimated memory footprint of the resident scenarios
+ * @param memoryBudgetBytes        memory budget of the resident scenarios, null if unlimited
+ * @param evictions                number of evictions from memory since the scenarios were last loaded
+ */
+public record ScenarioLoadingStatus(long generation, int scenarios, int loaded, int evicted, int failed, int invalid,
+									Long lastReloadDurationMillis, int resident, long residentBytes,
+									Long memoryBudgetBytes, long evictions) {
+
+	public boolean isComplete() {
+		return loaded + evicted + failed == scenarios;
+	}
+}
@@ -0,0 +1,29 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+import java.util.List;
+
+/**
+ * A scenario of the catalog, with the cost of a training course generated from it. Sizes are only known once the
+ * scenario is loaded : they are null before.
+ * <p>
+ * Interviewer scenarios give each trainee a copy of every survey unit, manager scenarios share them between trainees.
+ * Each trainee is also checked against the Pearl API before the generation.
+ * <p>
+ * When survey units are posted chunk by chunk while generated, the Pearl survey units and assignments of each campaign
+ * are posted once per chunk : a training course then makes {@code callsPerChunk} additional calls for each chunk of
+ * {@code surveyUnitsPerChunk} survey units posted for a campaign, which aren't counted in the fixed calls.
+ *
+ * @param label                  scenario label
+ * @param type                   scenario type
+ * @param campaigns              size of each campaign
+ * @param fixedCalls             calls to the Pearl and Queen APIs whatever the number of trainees
+ * @param callsPerTrainee        additional calls for each trainee
+ * @param fixedPayloadBytes      bytes posted whatever the number of trainees
+ * @param payloadBytesPerTrainee additional bytes posted for each trainee
+ * @param surveyUnitsPerChunk    maximum survey units of a chunk, null when survey units are posted at once
+ * @param callsPerChunk          calls posting a chunk of survey units, null when survey units are posted at once
+ */
+public record ScenarioSummary(String label, ScenarioType type, List<CampaignSummary> campaigns, Integer fixedCalls,
+							  Integer callsPerTrainee, Long fixedPayloadBytes, Long payloadBytesPerTrainee,
+							  Integer surveyUnitsPerChunk, Integer callsPerChunk) {
+}
@@ -0,0 +1,26 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+import java.util.List;
+
+/**
+ * Progress of a scenario upload
+ *
+ * @param id            upload id
+ * @param state         upload state
+ * @param scenarioLabel label of the uploaded scenario, once known
+ * @param errors        validation and extraction errors, when the upload failed
+ */
+public record ScenarioUploadStatus(String id, UploadState state, String scenarioLabel, List<String> errors) {
+
+	public enum UploadState {
+		PENDING, EXTRACTING, REGISTERED, FAILED
+	}
+
+	public ScenarioUploadStatus withState(UploadState newState, String newScenarioLabel) {
+		return new ScenarioUploadStatus(id, newState, newScenarioLabel, errors);
+	}
+
+	public ScenarioUploadStatus failed(List<String> failureErrors) {
+		return new ScenarioUploadStatus(id, UploadState.FAILED, scenarioLabel, List.copyOf(failureErrors));
+	}
+}
@@ -0,0 +1,16 @@
+package fr.insee.sabianedata.ws.model.massive_attack;
+
+import java.util.List;
+
+/**
+ * Broken references found in a loaded scenario
+ *
+ * @param label      scenario label
+ * @param violations description of each broken reference, empty when the scenario is valid
+ */
+public record ScenarioValidationReport(String label, List<String> violations) {
+
+	public boolean isValid() {
+		return violations.isEmpty();
+	}
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 
 import fr.insee.sabianedata.ws.utils.DateParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -23,10 +24,22 @@ public class ContactAttemptDto {
 
     private Long date;
 
+    // compiled once per loaded template, which is not modified afterwards, see compileDate
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long dateOffset = DateParser.NOT_COMPILED;
+
     public ContactAttemptDto(ContactAttemptDto ca, Long reference, String medium) {
         this.status = ca.getStatus();
-        this.date = DateParser.relativeDateParse(ca.getDateString(), reference);
+        this.date = DateParser.relativeDate(ca.dateOffset, ca.getDateString(), reference);
         this.medium = medium;
     }
 
+    /**
+     * Compile the relative date of this template, so that generations only add it to their reference date
+     */
+    public void compileDate() {
+        this.dateOffset = DateParser.compileRelativeDate(dateString);
+    }
+
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 
 import fr.insee.sabianedata.ws.utils.DateParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,13 +23,25 @@ public class ContactOutcomeDto {
     private String dateString;
 
     private Long date;
+
+    // compiled once per loaded template, which is not modified afterwards, see compileDate
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long dateOffset = DateParser.NOT_COMPILED;
     private int totalNumberOfContactAttempts;
 
     public ContactOutcomeDto(ContactOutcomeDto co, Long reference) throws IllegalArgumentException {
         this.type = co.getType();
         this.dateString = co.getDateString();
-        this.date = DateParser.relativeDateParse(co.getDateString(), reference);
+        this.date = DateParser.relativeDate(co.dateOffset, co.getDateString(), reference);
         this.totalNumberOfContactAttempts = Integer.parseInt(co.getAttemptsNumber());
     }
 
+    /**
+     * Compile the relative date of this template, so that generations only add it to their reference date
+     */
+    public void compileDate() {
+        this.dateOffset = DateParser.compileRelativeDate(dateString);
+    }
+
 }
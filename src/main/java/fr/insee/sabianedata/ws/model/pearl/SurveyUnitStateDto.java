@@ -4,6 +4,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 
 import fr.insee.sabianedata.ws.utils.DateParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,9 +22,21 @@ public class SurveyUnitStateDto {
 
     private Long date;
 
+    // compiled once per loaded template, which is not modified afterwards, see compileDate
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long dateOffset = DateParser.NOT_COMPILED;
+
     public SurveyUnitStateDto(SurveyUnitStateDto su, Long reference) throws IllegalArgumentException {
         this.type = su.getType();
-        this.date = DateParser.relativeDateParse(su.getDateString(), reference);
+        this.date = DateParser.relativeDate(su.dateOffset, su.getDateString(), reference);
+    }
+
+    /**
+     * Compile the relative date of this template, so that generations only add it to their reference date
+     */
+    public void compileDate() {
+        this.dateOffset = DateParser.compileRelativeDate(dateString);
     }
 
 }
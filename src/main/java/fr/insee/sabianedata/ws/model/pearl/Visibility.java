@@ -5,6 +5,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 
 import fr.insee.sabianedata.ws.utils.DateParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -42,15 +43,45 @@ public class Visibility {
     private String tel = "no-tel-yet";
     private boolean useLetterCommunication = false;
 
+    // compiled once per loaded template, which is not modified afterwards, see compileDates
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long collectionStartDateOffset = DateParser.NOT_COMPILED;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long collectionEndDateOffset = DateParser.NOT_COMPILED;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long identificationPhaseStartDateOffset = DateParser.NOT_COMPILED;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long interviewerStartDateOffset = DateParser.NOT_COMPILED;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long managementStartDateOffset = DateParser.NOT_COMPILED;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long endDateOffset = DateParser.NOT_COMPILED;
+
     public Visibility(Visibility visibility) throws IllegalArgumentException {
         this.organizationalUnit = visibility.getOrganizationalUnit();
-        this.collectionStartDate = DateParser.fixedDateParse(visibility.getCollectionStartDateString());
-        this.collectionEndDate = DateParser.fixedDateParse(visibility.getCollectionEndDateString());
-        this.identificationPhaseStartDate = DateParser
-                .fixedDateParse(visibility.getIdentificationPhaseStartDateString());
-        this.interviewerStartDate = DateParser.fixedDateParse(visibility.getInterviewerStartDateString());
-        this.managementStartDate = DateParser.fixedDateParse(visibility.getManagementStartDateString());
-        this.endDate = DateParser.fixedDateParse(visibility.getEndDateString());
+        this.collectionStartDateOffset = visibility.collectionStartDateOffset;
+        this.collectionEndDateOffset = visibility.collectionEndDateOffset;
+        this.identificationPhaseStartDateOffset = visibility.identificationPhaseStartDateOffset;
+        this.interviewerStartDateOffset = visibility.interviewerStartDateOffset;
+        this.managementStartDateOffset = visibility.managementStartDateOffset;
+        this.endDateOffset = visibility.endDateOffset;
+        this.collectionStartDate = DateParser.fixedDate(collectionStartDateOffset,
+                visibility.getCollectionStartDateString());
+        this.collectionEndDate = DateParser.fixedDate(collectionEndDateOffset,
+                visibility.getCollectionEndDateString());
+        this.identificationPhaseStartDate = DateParser.fixedDate(identificationPhaseStartDateOffset,
+                visibility.getIdentificationPhaseStartDateString());
+        this.interviewerStartDate = DateParser.fixedDate(interviewerStartDateOffset,
+                visibility.getInterviewerStartDateString());
+        this.managementStartDate = DateParser.fixedDate(managementStartDateOffset,
+                visibility.getManagementStartDateString());
+        this.endDate = DateParser.fixedDate(endDateOffset, visibility.getEndDateString());
         this.collectionStartDateString = visibility.getCollectionStartDateString();
         this.collectionEndDateString = visibility.getCollectionEndDateString();
         this.identificationPhaseStartDateString = visibility.getIdentificationPhaseStartDateString();
@@ -68,16 +99,29 @@ public class Visibility {
      * @param referenceDate the reference date
      */
     public void updateDatesWithReferenceDate(Long referenceDate) {
-        this.collectionStartDate = DateParser.relativeDateParse(collectionStartDateString,
+        this.collectionStartDate = DateParser.relativeDate(collectionStartDateOffset, collectionStartDateString,
+                referenceDate);
+        this.collectionEndDate = DateParser.relativeDate(collectionEndDateOffset, collectionEndDateString,
                 referenceDate);
-        this.collectionEndDate = DateParser.relativeDateParse(collectionEndDateString, referenceDate);
-        this.identificationPhaseStartDate = DateParser
-                .relativeDateParse(identificationPhaseStartDateString, referenceDate);
-        this.interviewerStartDate = DateParser.relativeDateParse(interviewerStartDateString,
+        this.identificationPhaseStartDate = DateParser.relativeDate(identificationPhaseStartDateOffset,
+                identificationPhaseStartDateString, referenceDate);
+        this.interviewerStartDate = DateParser.relativeDate(interviewerStartDateOffset, interviewerStartDateString,
                 referenceDate);
-        this.managementStartDate = DateParser.relativeDateParse(managementStartDateString,
+        this.managementStartDate = DateParser.relativeDate(managementStartDateOffset, managementStartDateString,
                 referenceDate);
-        this.endDate = DateParser.relativeDateParse(endDateString, referenceDate);
+        this.endDate = DateParser.relativeDate(endDateOffset, endDateString, referenceDate);
+    }
+
+    /**
+     * Compile the relative dates of this template, so that generations only add them to their reference date
+     */
+    public void compileDates() {
+        this.collectionStartDateOffset = DateParser.compileRelativeDate(collectionStartDateString);
+        this.collectionEndDateOffset = DateParser.compileRelativeDate(collectionEndDateString);
+        this.identificationPhaseStartDateOffset = DateParser.compileRelativeDate(identificationPhaseStartDateString);
+        this.interviewerStartDateOffset = DateParser.compileRelativeDate(interviewerStartDateString);
+        this.managementStartDateOffset = DateParser.compileRelativeDate(managementStartDateString);
+        this.endDateOffset = DateParser.compileRelativeDate(endDateString);
     }
 
 }
@@ -1,15 +1,16 @@
 package fr.insee.sabianedata.ws.model.queen;
 
-import java.io.File;
 import java.nio.file.Path;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
 import fr.insee.sabianedata.ws.utils.JsonFileToJsonNode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+@NoArgsConstructor
 @Getter
 @Setter
 @Slf4j
@@ -38,10 +39,10 @@ public class QueenSurveyUnit extends SurveyUnit {
     }
 
     public void extractJsonFromFiles(Path folderPath) {
-        String finalFolder = folderPath + File.separator + FOLDER;
-        File dtodataFile = new File(finalFolder + File.separator + getDataFile());
-        File commentFile = new File(finalFolder + File.separator + getCommentFile());
-        File personalizationFile = new File(finalFolder + File.separator + getPersonalizationFile());
+        Path finalFolder = folderPath.resolve(FOLDER);
+        Path dtodataFile = finalFolder.resolve(getDataFile());
+        Path commentFile = finalFolder.resolve(getCommentFile());
+        Path personalizationFile = finalFolder.resolve(getPersonalizationFile());
         // handle previous data structure
         populateStateData(finalFolder);
 
@@ -56,12 +57,12 @@ public class QueenSurveyUnit extends SurveyUnit {
         setStateDataFile(null);
     }
 
-    private void populateStateData(String finalFolder) {
+    private void populateStateData(Path finalFolder) {
         String sdf = getStateDataFile();
         if (sdf == null || sdf.isEmpty()) {
             setStateData(null);
         } else {
-            File stateDataFile = new File(finalFolder + File.separator + getStateDataFile());
+            Path stateDataFile = finalFolder.resolve(getStateDataFile());
             setStateData(JsonFileToJsonNode.getJsonNodeFromFile(stateDataFile));
         }
     }
@@ -1,12 +1,10 @@
 package fr.insee.sabianedata.ws.model.queen;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import fr.insee.sabianedata.ws.utils.JsonFileToJsonNode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.io.File;
 import java.nio.file.Path;
 
 @Getter
@@ -14,7 +12,7 @@ import java.nio.file.Path;
 @NoArgsConstructor
 public class QuestionnaireModelDto extends QuestionnaireModel {
 
-	private JsonNode value;
+	private RawJson value;
 	private static final String QUESTIONNAIRE_MODELS = "questionnaireModels";
 
 	public QuestionnaireModelDto(QuestionnaireModel questionnaireModel, Path folderPath) {
@@ -25,8 +23,7 @@ public class QuestionnaireModelDto extends QuestionnaireModel {
 				.resolve(QUESTIONNAIRE_MODELS)
 				.resolve(questionnaireModel.getFileName());
 
-		File questionnaireFile = questionnaireFilePath.toFile();
-		this.value = JsonFileToJsonNode.getJsonNodeFromFile(questionnaireFile);
+		this.value = JsonFileToJsonNode.getRawJsonFromFile(questionnaireFilePath);
 	}
 
 	public QuestionnaireModelDto deepClone(){
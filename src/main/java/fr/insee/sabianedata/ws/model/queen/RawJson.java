@@ -0,0 +1,231 @@
+package fr.insee.sabianedata.ws.model.queen;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A JSON document kept as its compact UTF-8 encoding, validated when read.
+ * <p>
+ * Questionnaire models and nomenclatures are only forwarded to the Queen API : their bytes are written as is in the
+ * request bodies, instead of a tree being serialized again by every request. The content must not be modified.
+ * <p>
+ * Large documents stay on disk : only the file, its length and its checksum are held, and the file is copied into
+ * the request bodies.
+ */
+@JsonSerialize(using = RawJson.RawJsonSerializer.class)
+public final class RawJson {
+
+    // null when the document is on disk
+    private final byte[] content;
+    private final Path file;
+    private final long length;
+    private final String checksum;
+
+    public RawJson(byte[] content) {
+        this.content = content;
+        this.file = null;
+        this.length = content.length;
+        this.checksum = null;
+    }
+
+    private RawJson(Path file, long length, String checksum) {
+        this.content = null;
+        this.file = file;
+        this.length = length;
+        this.checksum = checksum;
+    }
+
+    /**
+     * @param file     compact JSON document, which must not be modified while referenced
+     * @param length   length of the file
+     * @param checksum hex-encoded SHA-256 of the file
+     * @return a document read from the file whenever written
+     */
+    public static RawJson onDisk(Path file, long length, String checksum) {
+        return new RawJson(file, length, checksum);
+    }
+
+    public boolean isOnDisk() {
+        return file != null;
+    }
+
+    /**
+     * @return UTF-8 encoding of the document, which must not be modified
+     * @throws IllegalStateException when the document is on disk
+     */
+    public byte[] content() {
+        if (content == null) {
+            throw new IllegalStateException("Document is on disk : " + file);
+        }
+        return content;
+    }
+
+    /**
+     * @return length of the UTF-8 encoding of the document
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return a stream over the UTF-8 encoding of the document
+     */
+    public InputStream openStream() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(file);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RawJson other)) {
+            return false;
+        }
+        return content != null
+                ? Arrays.equals(content, other.content)
+                : other.content == null && checksum.equals(other.checksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return content != null ? Arrays.hashCode(content) : Objects.hashCode(checksum);
+    }
+
+    @Override
+    public String toString() {
+        return content != null ? new String(content, StandardCharsets.UTF_8) : "RawJson[" + file + "]";
+    }
+
+    public static class RawJsonSerializer extends JsonSerializer<RawJson> {
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (value.content != null) {
+                // byte-based generators copy the encoded value, character-based ones decode it
+                generator.writeRawValue(new Utf8Value(value.content));
+                return;
+            }
+            Object target = generator.getOutputTarget();
+            if (!(target instanceof OutputStream) && !(target instanceof Writer)) {
+                generator.writeRawValue(new Utf8Value(Files.readAllBytes(value.file)));
+                return;
+            }
+            // separators are written by the generator, the file is then copied right after them
+            generator.writeRawValue("");
+            generator.flush();
+            if (target instanceof OutputStream outputStream) {
+                Files.copy(value.file, outputStream);
+            } else {
+                try (Reader reader = Files.newBufferedReader(value.file, StandardCharsets.UTF_8)) {
+                    reader.transferTo((Writer) target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unquoted value already encoded in UTF-8 : only the methods used to write raw values are efficient, quoted
+     * variants go through the decoded text
+     */
+    private record Utf8Value(byte[] content) implements SerializableString {
+
+        @Override
+        public String getValue() {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+
+        private SerializedString quoted() {
+            return new SerializedString(getValue());
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return quoted().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return content;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return quoted().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return quoted().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return quoted().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + content.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(content, 0, buffer, offset, content.length);
+            return content.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            String value = getValue();
+            if (offset + value.length() > buffer.length) {
+                return -1;
+            }
+            value.getChars(0, value.length(), buffer, offset);
+            return value.length();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return quoted().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(content);
+            return content.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return quoted().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (content.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(content);
+            return content.length;
+        }
+    }
+}
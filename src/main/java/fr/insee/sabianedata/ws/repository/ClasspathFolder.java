@@ -0,0 +1,60 @@
+package fr.insee.sabianedata.ws.repository;
+
+import org.springframework.core.io.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A {@link Path} view of a classpath folder, read in place.
+ * <p>
+ * When resources are exploded on disk, the folder is a plain file path. When the application is packaged, the folder
+ * is read through a zip file system over the archive, which is closed along with this view.
+ */
+class ClasspathFolder implements Closeable {
+
+	private final Path path;
+	// only set when the zip file system has been opened by this view
+	private final FileSystem openedFileSystem;
+
+	private ClasspathFolder(Path path, FileSystem openedFileSystem) {
+		this.path = path;
+		this.openedFileSystem = openedFileSystem;
+	}
+
+	static ClasspathFolder open(Resource folder) throws IOException {
+		URI uri = folder.getURI();
+		switch (uri.getScheme()) {
+			case "file":
+				return new ClasspathFolder(Path.of(uri), null);
+			case "jar":
+				FileSystem openedFileSystem = null;
+				try {
+					openedFileSystem = FileSystems.newFileSystem(uri, Map.of());
+				} catch (FileSystemAlreadyExistsException e) {
+					// already opened elsewhere in the application : shared, and left open
+				}
+				FileSystem fileSystem = openedFileSystem != null ? openedFileSystem : FileSystems.getFileSystem(uri);
+				return new ClasspathFolder(fileSystem.provider().getPath(uri), openedFileSystem);
+			default:
+				throw new IOException("Unsupported classpath folder location : " + uri);
+		}
+	}
+
+	Path path() {
+		return path;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (openedFileSystem != null) {
+			openedFileSystem.close();
+		}
+	}
+}
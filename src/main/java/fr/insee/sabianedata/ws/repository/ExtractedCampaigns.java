@@ -0,0 +1,149 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.controller.exception.TrainingScenarioLoadingException;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Campaigns extracted for one version of the scenarios, by fingerprint of their folder.
+ * <p>
+ * When scenarios are reloaded, the new version looks campaigns up in the previous one : only the campaigns whose
+ * folder changed are extracted again. Each version only keeps the campaigns it uses, so that replaced campaigns
+ * can be collected along with the version that used them.
+ * <p>
+ * Campaigns are kept as encoded when extracted, before any scenario validates and compacts them in place : each
+ * scenario gets a copy of its own, decoded from the extraction, so that a scenario being prepared never modifies
+ * campaigns another scenario, or the previous version, is serving.
+ * <p>
+ * Identical campaign folders of several scenarios share their extraction : it is held by the scenarios using it, and
+ * only forgotten once none of them is loaded anymore.
+ */
+public final class ExtractedCampaigns {
+
+	private static final ExtractedCampaigns NONE = new ExtractedCampaigns(null, null);
+
+	// campaigns as extracted, encoded like the snapshot
+	private final Map<String, byte[]> campaigns;
+	// fingerprints of the campaigns held by each scenario folder, and number of holders of each campaign
+	private final Map<Path, Set<String>> heldFingerprints = new HashMap<>();
+	private final Map<String, Integer> holders = new HashMap<>();
+	private volatile ExtractedCampaigns previous;
+
+	private ExtractedCampaigns(Map<String, byte[]> campaigns, ExtractedCampaigns previous) {
+		this.campaigns = campaigns;
+		this.previous = previous;
+	}
+
+	/**
+	 * @return campaigns which are never reused : every campaign is extracted, without fingerprinting its folder
+	 */
+	public static ExtractedCampaigns none() {
+		return NONE;
+	}
+
+	/**
+	 * @return an empty version of the campaigns, to be reused by the next one
+	 */
+	public static ExtractedCampaigns first() {
+		return new ExtractedCampaigns(new ConcurrentHashMap<>(), null);
+	}
+
+	/**
+	 * @return a new version of the campaigns, reusing the unchanged campaigns of this one
+	 */
+	public ExtractedCampaigns next() {
+		return new ExtractedCampaigns(new ConcurrentHashMap<>(), this.campaigns == null ? null : this);
+	}
+
+	MassiveCampaign computeIfAbsent(Path campaignDirectory, Function<Path, MassiveCampaign> extraction) {
+		if (campaigns == null) {
+			return extraction.apply(campaignDirectory);
+		}
+		String fingerprint;
+		try {
+			fingerprint = ScenarioSnapshot.fingerprint(campaignDirectory);
+		} catch (IOException e) {
+			throw new TrainingScenarioLoadingException("Couldn't fingerprint campaign " + campaignDirectory, e);
+		}
+		hold(campaignDirectory.getParent(), fingerprint);
+		byte[] extractedCampaign = campaigns.get(fingerprint);
+		if (extractedCampaign == null) {
+			ExtractedCampaigns previousVersion = previous;
+			extractedCampaign = previousVersion == null ? null : previousVersion.campaigns.get(fingerprint);
+		}
+		if (extractedCampaign == null) {
+			// extracted outside of the map : an extraction may take seconds
+			extractedCampaign = encode(extraction.apply(campaignDirectory), campaignDirectory);
+		}
+		byte[] existing = campaigns.putIfAbsent(fingerprint, extractedCampaign);
+		// extracted or reused, every scenario gets the same decoded copy : loadings are measured alike
+		return decode(existing != null ? existing : extractedCampaign, campaignDirectory);
+	}
+
+	private static byte[] encode(MassiveCampaign campaign, Path campaignDirectory) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			ScenarioSnapshot.writeCampaign(campaign, outputStream);
+		} catch (IOException e) {
+			throw new TrainingScenarioLoadingException("Couldn't encode campaign " + campaignDirectory, e);
+		}
+		return outputStream.toByteArray();
+	}
+
+	private static MassiveCampaign decode(byte[] extractedCampaign, Path campaignDirectory) {
+		try {
+			return ScenarioSnapshot.readCampaign(new ByteArrayInputStream(extractedCampaign));
+		} catch (IOException e) {
+			throw new TrainingScenarioLoadingException("Couldn't decode campaign " + campaignDirectory, e);
+		}
+	}
+
+	/**
+	 * Forget campaigns of an evicted scenario which no other loaded scenario holds, so that they can be collected.
+	 * They are extracted again if needed.
+	 *
+	 * @param scenarioDirectory folder of the evicted scenario
+	 */
+	void forget(Path scenarioDirectory) {
+		if (campaigns == null) {
+			return;
+		}
+		synchronized (heldFingerprints) {
+			Set<String> fingerprints = heldFingerprints.remove(scenarioDirectory);
+			if (fingerprints == null) {
+				return;
+			}
+			for (String fingerprint : fingerprints) {
+				if (holders.merge(fingerprint, -1, Integer::sum) == 0) {
+					holders.remove(fingerprint);
+					campaigns.remove(fingerprint);
+				}
+			}
+		}
+	}
+
+	private void hold(Path scenarioDirectory, String fingerprint) {
+		synchronized (heldFingerprints) {
+			if (heldFingerprints.computeIfAbsent(scenarioDirectory, key -> new HashSet<>()).add(fingerprint)) {
+				holders.merge(fingerprint, 1, Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Forget the previous version once this one is loaded, so that replaced campaigns can be collected
+	 */
+	void detachPrevious() {
+		previous = null;
+	}
+}
@@ -0,0 +1,107 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Persistent cache of extracted campaigns, for deployments keeping a folder across restarts.
+ * <p>
+ * Entries are keyed by the fingerprint of the campaign folder (workbooks and referenced JSON files) and of the
+ * extraction stylesheets : a campaign is only extracted again when one of its inputs changed. The cache is
+ * best-effort, an unreadable or unwritable entry never prevents a campaign from being extracted.
+ */
+@Component
+@Slf4j
+public class ExtractionCache {
+
+	private static final String ENTRY_EXTENSION = ".campaign";
+
+	private final Path cacheFolder;
+
+	public ExtractionCache(ScenarioProperties scenarioProperties) {
+		this.cacheFolder = scenarioProperties.isExtractionCacheEnabled()
+				? Path.of(scenarioProperties.extractionCacheFolder())
+				: null;
+	}
+
+	/**
+	 * Get the cached extraction of a campaign, or extract it and cache the result
+	 *
+	 * @param campaignDirectory campaign folder
+	 * @param extraction        extraction to run when the campaign isn't cached yet
+	 * @return the extracted campaign
+	 */
+	public MassiveCampaign computeIfAbsent(Path campaignDirectory, Function<Path, MassiveCampaign> extraction) {
+		if (cacheFolder == null) {
+			return extraction.apply(campaignDirectory);
+		}
+		Optional<Path> entry = entryOf(campaignDirectory);
+		Optional<MassiveCampaign> cachedCampaign = entry.flatMap(this::read);
+		if (cachedCampaign.isPresent()) {
+			log.info("Campaign {} read from extraction cache", campaignDirectory.getFileName());
+			return cachedCampaign.get();
+		}
+		MassiveCampaign campaign = extraction.apply(campaignDirectory);
+		entry.ifPresent(path -> write(path, campaign));
+		return campaign;
+	}
+
+	private Optional<Path> entryOf(Path campaignDirectory) {
+		try {
+			return Optional.of(cacheFolder.resolve(ScenarioSnapshot.fingerprint(campaignDirectory) + ENTRY_EXTENSION));
+		} catch (IOException e) {
+			log.warn("Couldn't fingerprint campaign {}, extraction cache is bypassed", campaignDirectory, e);
+			return Optional.empty();
+		}
+	}
+
+	private Optional<MassiveCampaign> read(Path entry) {
+		if (!Files.isRegularFile(entry)) {
+			return Optional.empty();
+		}
+		try (InputStream inputStream = Files.newInputStream(entry)) {
+			return Optional.of(ScenarioSnapshot.readCampaign(inputStream));
+		} catch (IOException | RuntimeException e) {
+			log.warn("Ignoring unreadable extraction cache entry {}", entry, e);
+			return Optional.empty();
+		}
+	}
+
+	private void write(Path entry, MassiveCampaign campaign) {
+		Path tempEntry = null;
+		try {
+			Files.createDirectories(cacheFolder);
+			// written aside then moved, so that instances sharing the folder never read a partial entry
+			tempEntry = Files.createTempFile(cacheFolder, "entry-", ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(tempEntry)) {
+				ScenarioSnapshot.writeCampaign(campaign, outputStream);
+			}
+			Files.move(tempEntry, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Couldn't write extraction cache entry {}", entry, e);
+			deleteQuietly(tempEntry);
+		}
+	}
+
+	private void deleteQuietly(Path path) {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.debug("Couldn't delete {}", path, e);
+		}
+	}
+}
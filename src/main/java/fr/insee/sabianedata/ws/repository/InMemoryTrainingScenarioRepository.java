@@ -1,36 +1,42 @@
 package fr.insee.sabianedata.ws.repository;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.insee.sabianedata.ws.config.properties.ApplicationProperties;
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
 import fr.insee.sabianedata.ws.controller.exception.TrainingScenarioLoadingException;
 import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
-import fr.insee.sabianedata.ws.model.massive_attack.MassiveSurveyUnit;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioLoadingStatus;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioSummary;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
 import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
-import fr.insee.sabianedata.ws.model.pearl.Assignment;
-import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
-import fr.insee.sabianedata.ws.model.pearl.PearlSurveyUnit;
-import fr.insee.sabianedata.ws.model.queen.NomenclatureDto;
-import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
-import fr.insee.sabianedata.ws.model.queen.QueenSurveyUnit;
-import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
-import fr.insee.sabianedata.ws.service.ExtractionService;
+import fr.insee.sabianedata.ws.service.CampaignHeaderCache;
+import fr.insee.sabianedata.ws.service.NomenclatureStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.FileSystemUtils;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 @Component
@@ -40,20 +46,51 @@ public class InMemoryTrainingScenarioRepository implements TrainingScenarioRepos
 
 	private final ResourceLoader resourceLoader;
 
-	private final Map<String, TrainingScenario> scenarioMap = new HashMap<>();
-	private final ExtractionService extractionService;
+	private final TrainingScenarioLoader trainingScenarioLoader;
 	private final ApplicationProperties applicationProperties;
-
-	private File tempFolder;
-	private File tempScenariiFolder;
-	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ScenarioProperties scenarioProperties;
+	private final GenerationProperties generationProperties;
+	private final NomenclatureStore nomenclatureStore;
+	private final CampaignHeaderCache campaignHeaderCache;
+
+	// the scenarios currently served, swapped as a whole on reload
+	private final AtomicReference<ScenarioCatalog> catalog = new AtomicReference<>(ScenarioCatalog.EMPTY);
+
+	// folder the scenarios are read from, in place : the watched folder if any, the classpath scenarii otherwise
+	private Path scenariiFolder;
+	private ClasspathFolder classpathScenarii;
+	// scenarios uploaded while no folder is watched, created on the first upload
+	private Path uploadedScenariiFolder;
+	// fingerprint of the scenarii the snapshot was read against, to read evicted scenarios from it again
+	private String snapshotFingerprint;
+	private ScenarioResidency residency;
+	// heap of the last loading of each scenario
+	private final Map<String, ScenarioHeapReport> heapReports = new ConcurrentHashMap<>();
+	// broken references of the last loading of each scenario
+	private final Map<String, ScenarioValidationReport> validationReports = new ConcurrentHashMap<>();
+	// sizes of the last loading of each scenario
+	private final Map<String, ScenarioSummary> summaries = new ConcurrentHashMap<>();
+	// the listing is built again only once the catalog, a validation or a summary changed
+	private final AtomicLong listingVersion = new AtomicLong();
+	private volatile VersionedListing listing;
+	private ExecutorService loadingExecutor;
+	private ExecutorService warmUpExecutor;
+	private ScenarioFolderWatcher scenarioFolderWatcher;
+	private volatile Long lastReloadDurationMillis;
 
 	@PostConstruct
 	public void init() {
 		try {
-			setupTempFolders();
+			residency = new ScenarioResidency(scenarioProperties.isMemoryBudgetEnabled()
+					? scenarioProperties.memoryBudget().toBytes()
+					: 0);
+			loadingExecutor = Executors.newFixedThreadPool(scenarioProperties.loadingThreads(),
+					new CustomizableThreadFactory("scenario-loading-"));
 			loadScenarios();
-			log.debug("Init loading finished: {} scenarios loaded.", scenarioMap.size());
+			log.debug("Init loading finished: {} scenarios loaded.", catalog.get().scenarios().size());
+			if (scenarioProperties.isWatchEnabled()) {
+				scenarioFolderWatcher = new ScenarioFolderWatcher(scenariiFolder, this::reloadScenarios);
+			}
 		} catch (IOException e) {
 			log.error("Critical error during initialization of scenarios. Shutting down.", e);
 			throw new IllegalStateException("Initialization failed due to IO error", e);
@@ -65,236 +102,409 @@ public class InMemoryTrainingScenarioRepository implements TrainingScenarioRepos
 
 	@PreDestroy
 	private void cleanup() {
-		boolean result = FileSystemUtils.deleteRecursively(tempFolder);
-		log.debug("Clean-up result : {}", result);
-	}
-
-	/**
-	 * Prepares a temporary folder structure to hold scenarii files by:
-	 * <ul>
-	 *   <li>Creating a base temp folder if it doesn't exist</li>
-	 *   <li>Creating a "scenarii" subfolder within the temp folder</li>
-	 *   <li>Verifying that the scenarii folder resides within the temp folder (to prevent symlink or directory traversal attacks)</li>
-	 *   <li>Copying scenarii resources from the classpath into the temporary scenarii folder</li>
-	 * </ul>
-	 *
-	 * @throws IOException if any folder cannot be created, is not writable,
-	 *                     if a symlink/directory traversal issue is detected,
-	 *                     or if classpath scenarii resources are missing
-	 */
-	private void setupTempFolders() throws IOException {
-		tempFolder = new File(applicationProperties.tempFolder());
-
-		// Ensure the base temp folder exists and is writable
-		if (!tempFolder.exists() && !tempFolder.mkdir()) {
-			throw new IOException("Could not create temp folder: " + tempFolder);
+		if (scenarioFolderWatcher != null) {
+			try {
+				scenarioFolderWatcher.close();
+			} catch (IOException e) {
+				log.warn("Couldn't close scenarii folder watcher", e);
+			}
 		}
-		if (!tempFolder.isDirectory() || !tempFolder.canWrite()) {
-			throw new IOException("Configured temp folder is not writable: " + tempFolder);
+		if (warmUpExecutor != null) {
+			warmUpExecutor.shutdownNow();
 		}
-
-		// Create the scenarii subfolder inside the temp folder
-		tempScenariiFolder = new File(tempFolder, "scenarii");
-		if (!tempScenariiFolder.exists() && !tempScenariiFolder.mkdirs()) {
-			log.error("Couldn't create temporary scenarii folder.");
-			throw new IOException("Failed to create temporary scenarii folder.");
+		if (loadingExecutor != null) {
+			loadingExecutor.shutdownNow();
 		}
-
-		// Resolve the canonical (real) paths to detect symlink attacks
-		Path realBasePath = tempFolder.toPath().toRealPath(); // resolves symlinks in temp folder
-		Path scenariiPath = tempScenariiFolder.toPath().toRealPath(); // resolves symlinks in scenarii subfolder
-
-		// Ensure the scenarii folder is truly a subdirectory of the base temp folder
-		// This prevents path tricks or symlink-based attacks that could redirect outside of temp
-		if (!scenariiPath.startsWith(realBasePath)) {
-			throw new IOException("Potential directory traversal or symlink attack.");
+		if (classpathScenarii != null) {
+			try {
+				classpathScenarii.close();
+			} catch (IOException e) {
+				log.warn("Couldn't close classpath scenarii folder", e);
+			}
 		}
-
-		// Load scenarii files from the classpath
-		File scenariosFolder = resourceLoader.getResource("classpath:scenarii").getFile();
-		if (!scenariosFolder.exists()) {
-			log.error("Scenarii folder not found in classpath.");
-			throw new IOException("Scenarii folder not found in classpath.");
+		if (uploadedScenariiFolder != null) {
+			boolean result = FileSystemUtils.deleteRecursively(uploadedScenariiFolder.toFile());
+			log.debug("Clean-up result : {}", result);
 		}
-
-		// Safely copy classpath scenarii files into the validated temp/scenarii folder
-		FileUtils.copyDirectory(scenariosFolder, tempScenariiFolder);
 	}
 
-	private void loadScenarios() {
-		File[] scenarioFolders = tempScenariiFolder.listFiles();
-		checkScenarioFolder(scenarioFolders);
-
-		List<TrainingScenario> scenarios = Arrays.stream(scenarioFolders)
-				.map(file -> {
-					try {
-						return createTrainingScenario(file);
-					} catch (Exception e) {
-						throw new IllegalStateException(String.format("Couldn't load scenario %s", file.getName()));
-					}
-				}).toList();
-
-		scenarios.forEach(scenario -> scenarioMap.put(scenario.getLabel(), scenario));
+	private void loadScenarios() throws IOException {
+		if (scenarioProperties.isWatchEnabled()) {
+			scenariiFolder = Path.of(scenarioProperties.watchedFolder());
+		} else {
+			Resource classpathFolder = resourceLoader.getResource("classpath:scenarii");
+			if (!classpathFolder.exists()) {
+				log.error("Scenarii folder not found in classpath.");
+				throw new IOException("Scenarii folder not found in classpath.");
+			}
+			classpathScenarii = ClasspathFolder.open(classpathFolder);
+			scenariiFolder = classpathScenarii.path();
+		}
+		List<Path> scenarioFolders = listScenarioFolders();
+
+		// only campaigns of a watched folder may be reused : they are fingerprinted for that purpose
+		ExtractedCampaigns extractedCampaigns = scenarioProperties.isWatchEnabled()
+				? ExtractedCampaigns.first()
+				: ExtractedCampaigns.none();
+		Optional<List<TrainingScenario>> snapshotScenarios = readSnapshot();
+		if (snapshotScenarios.isPresent()) {
+			snapshotScenarios.get().forEach(this::prepare);
+			publish(ScenarioCatalog.loaded(1, snapshotScenarios.get(), foldersByLabel(scenarioFolders), true,
+					extractedCampaigns), snapshotScenarios.get());
+		} else if (scenarioProperties.lazyLoading()) {
+			registerLazyScenarios(scenarioFolders, extractedCampaigns);
+		} else {
+			List<TrainingScenario> scenarios = trainingScenarioLoader.loadScenarios(scenarioFolders,
+					scenarioProperties.loadingThreads(), extractedCampaigns);
+			scenarios.forEach(this::prepare);
+			publish(ScenarioCatalog.loaded(1, scenarios, foldersByLabel(scenarioFolders), false,
+					extractedCampaigns), scenarios);
+		}
 	}
 
-	private void checkScenarioFolder(File[] scenarioFolders) {
-		if (scenarioFolders == null || scenarioFolders.length == 0) {
-			log.error("No scenarios found in the temporary scenarii folder.");
-			throw new IllegalStateException("No scenarios found in the temporary folder.");
+	private Map<String, Path> foldersByLabel(List<Path> scenarioFolders) {
+		Map<String, Path> foldersByLabel = new HashMap<>();
+		for (Path scenarioFolder : scenarioFolders) {
+			foldersByLabel.put(trainingScenarioLoader.readScenarioInfo(scenarioFolder).getLabel(), scenarioFolder);
 		}
+		return foldersByLabel;
 	}
 
+	// loaded scenarios become resident in order, the last ones being kept when they exceed the memory budget
+	private void publish(ScenarioCatalog newCatalog, List<TrainingScenario> loadedScenarios) {
+		catalog.set(newCatalog);
+		listingVersion.incrementAndGet();
+		residency.clear();
+		// headers of the previous scenarios are never used again
+		campaignHeaderCache.clear();
+		loadedScenarios.forEach(this::access);
+	}
 
-	private TrainingScenario createTrainingScenario(File scenarioDirectory) throws Exception {
-		if (scenarioDirectory == null) {
-			throw new IllegalArgumentException("Scenario directory cannot be null");
+	private List<Path> listScenarioFolders() throws IOException {
+		List<Path> scenarioFolders;
+		try (Stream<Path> children = Files.list(scenariiFolder)) {
+			scenarioFolders = children.filter(Files::isDirectory)
+					.sorted(Comparator.comparing(folder -> folder.getFileName().toString()))
+					.toList();
 		}
-
-		if (!scenarioDirectory.getCanonicalPath().startsWith(tempScenariiFolder.getCanonicalPath())) {
-			throw new SecurityException("Scenario directory is outside allowed base path.");
+		checkScenarioFolder(scenarioFolders);
+		for (Path scenarioFolder : scenarioFolders) {
+			checkIsInScenariiFolder(scenarioFolder, scenariiFolder);
 		}
+		return scenarioFolders;
+	}
 
-		log.info("creating scenario from {}", scenarioDirectory.getName());
-		File infoFile = new File(scenarioDirectory, "info.json");
-
-		TrainingScenario trainingScenario;
-		try (InputStream inputStream = new FileInputStream(infoFile)) {
-			trainingScenario = objectMapper.readValue(inputStream, TrainingScenario.class);
-		} catch (IOException e) {
-			log.warn("Unable to load TrainingScenario from {}", infoFile, e);
-			throw new TrainingScenarioLoadingException("Unable to load TrainingScenario",e);
+	/**
+	 * Registers scenarios from their `info.json` only, so that the catalog is available immediately.
+	 * Campaigns are then extracted by a background warm-up, scenario after scenario, unless a scenario is
+	 * requested first, in which case its own loading is started right away.
+	 */
+	private void registerLazyScenarios(List<Path> folders, ExtractedCampaigns extractedCampaigns) {
+		List<TrainingScenario> scenarioInfos = new ArrayList<>();
+		Map<String, Path> foldersByLabel = new HashMap<>();
+		for (Path folder : folders) {
+			TrainingScenario scenarioInfo = trainingScenarioLoader.readScenarioInfo(folder);
+			scenarioInfos.add(scenarioInfo);
+			foldersByLabel.put(scenarioInfo.getLabel(), folder);
 		}
+		ScenarioCatalog lazyCatalog = ScenarioCatalog.lazy(1, scenarioInfos, foldersByLabel, extractedCampaigns);
+		catalog.set(lazyCatalog);
+		listingVersion.incrementAndGet();
 
-		// for each Scenario sub-folder
-		try (Stream<Path> paths = Files.list(scenarioDirectory.toPath())) {
-			List<File> directories = paths
-					.filter(Files::isDirectory)
-					.map(Path::toFile)
-					.toList();
-
-			List<MassiveCampaign> campaigns = directories.stream().map(
-					this::extractMassiveCampaign
-			).toList();
-
-			trainingScenario.setCampaigns(campaigns);
+		warmUpExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("scenario-warm-up-"));
+		List<String> labels = scenarioInfos.stream().map(TrainingScenario::getLabel).toList();
+		warmUpExecutor.execute(() -> warmUp(lazyCatalog, labels));
+	}
 
-		} catch (RuntimeException e) {
-			log.warn("Error when processing campaigns", e);
-			throw new TrainingScenarioLoadingException("Error when processing scenario " + scenarioDirectory.getAbsolutePath(),e);
+	private void warmUp(ScenarioCatalog lazyCatalog, List<String> labels) {
+		long start = System.currentTimeMillis();
+		for (String label : labels) {
+			try {
+				access(loadScenario(lazyCatalog, label).join());
+			} catch (CompletionException | CancellationException e) {
+				log.error("Couldn't load scenario {}", label, e.getCause());
+			}
+			ScenarioLoadingStatus status = getLoadingStatus();
+			log.info("Scenario warm-up : {}/{} scenarios loaded, {} evicted, {} failed", status.loaded(),
+					status.scenarios(), status.evicted(), status.failed());
 		}
-
-		return trainingScenario;
-
+		log.info("Scenario warm-up finished in {} ms", System.currentTimeMillis() - start);
 	}
 
-	private MassiveCampaign extractMassiveCampaign(File campaignDirectory) {
-
-		// extract Pearl entities
-		File pearlSourceFile = new File(campaignDirectory, "pearl/pearl_campaign.fods");
-		PearlCampaign pearlCampaign = extractPearlCampaign(pearlSourceFile);
-		List<PearlSurveyUnit> pearlSurveyUnits = extractPearlSurveyUnits(pearlSourceFile);
-		List<Assignment> assignments = extractAssignments(pearlSourceFile);
+	private CompletableFuture<TrainingScenario> loadScenario(ScenarioCatalog scenarioCatalog, String label) {
+		return scenarioCatalog.loadings().computeIfAbsent(label, key -> {
+			if (scenarioCatalog.snapshotLabels().contains(key)) {
+				// an evicted scenario is read from the snapshot again, or extracted if it can't be
+				return CompletableFuture.supplyAsync(() -> readSnapshotScenario(key), loadingExecutor)
+						.thenCompose(scenario -> scenario.isPresent()
+								? CompletableFuture.completedFuture(scenario.get())
+								: extractScenario(scenarioCatalog, key))
+						.thenApplyAsync(this::prepare, loadingExecutor);
+			}
+			return extractScenario(scenarioCatalog, key).thenApplyAsync(this::prepare, loadingExecutor);
+		});
+	}
 
-		// extract Queen entities
-		Path queenFolder = new File(campaignDirectory, "queen").toPath();
-		File queenSourceFile = new File(queenFolder.toFile(), "queen_campaign.fods");
-		QueenCampaign queenCampaign = extractQueenCampaign(queenFolder, queenSourceFile);
-		List<QueenSurveyUnit> queenSurveyUnits = extractQueenSurveyUnits(queenFolder, queenSourceFile);
+	private CompletableFuture<TrainingScenario> extractScenario(ScenarioCatalog scenarioCatalog, String label) {
+		return trainingScenarioLoader.loadScenario(scenarioCatalog.folders().get(label), loadingExecutor,
+				scenarioCatalog.extractedCampaigns());
+	}
 
-		// merge pearl and queen into MassiveSurveyUnits
-		List<MassiveSurveyUnit> surveyUnits = mergePearlAndQueenSurveyUnits(pearlSurveyUnits, queenSurveyUnits);
+	/**
+	 * Validates and summarizes a loaded scenario, then compacts it before it is kept in memory
+	 */
+	private TrainingScenario prepare(TrainingScenario scenario) {
+		validate(scenario);
+		summaries.put(scenario.getLabel(), ScenarioSummaries.summarize(scenario,
+				generationProperties.pipelineChunkSize()));
+		listingVersion.incrementAndGet();
+		long start = System.currentTimeMillis();
+		keepNomenclaturesOnDisk(scenario);
+		ScenarioHeapReport heapReport = ScenarioCompactor.compact(scenario);
+		heapReports.put(scenario.getLabel(), heapReport);
+		log.info("Scenario {} compacted from {} to {} bytes in {} ms", scenario.getLabel(),
+				heapReport.loadedBytes(), heapReport.compactedBytes(), System.currentTimeMillis() - start);
+		return scenario;
+	}
 
-		// wrap pearl and queen campaign together for easier id handling
-		return new MassiveCampaign(pearlCampaign, queenCampaign, surveyUnits, assignments);
+	private void validate(TrainingScenario scenario) {
+		ScenarioValidationReport validationReport = ScenarioValidator.validate(scenario);
+		validationReports.put(scenario.getLabel(), validationReport);
+		if (!validationReport.isValid()) {
+			log.error("Scenario {} is invalid, it won't be generated : {}", scenario.getLabel(),
+					validationReport.violations());
+		}
+	}
 
+	// nomenclatures read from the snapshot or the extraction cache are in memory, whatever their size
+	private void keepNomenclaturesOnDisk(TrainingScenario scenario) {
+		if (scenario.getCampaigns() == null) {
+			return;
+		}
+		for (MassiveCampaign campaign : scenario.getCampaigns()) {
+			if (campaign.getQueenCampaign() != null && campaign.getQueenCampaign().getNomenclatures() != null) {
+				campaign.getQueenCampaign().getNomenclatures().forEach(nomenclature ->
+						nomenclature.setValue(nomenclatureStore.keepOnDisk(nomenclature.getValue())));
+			}
+		}
 	}
 
+	/**
+	 * Makes a loaded scenario the most recently used one, evicting the least recently used ones beyond the memory
+	 * budget
+	 */
+	private void access(TrainingScenario scenario) {
+		for (String evictedLabel : residency.access(heapReports.get(scenario.getLabel()))) {
+			if (catalog.get().evict(evictedLabel)) {
+				campaignHeaderCache.forget(evictedLabel);
+				log.info("Scenario {} evicted : {} scenarios resident in {} bytes", evictedLabel,
+						residency.resident(), residency.residentBytes());
+			}
+		}
+	}
 
-	private PearlCampaign extractPearlCampaign(File pearlSourceFile) {
+	/**
+	 * Reloads the watched scenarii folder, then publishes the new scenarios at once.
+	 * Only the campaigns whose folder changed are extracted again. On failure, current scenarios are kept.
+	 */
+	private void reloadScenarios() {
+		long start = System.currentTimeMillis();
+		ScenarioCatalog currentCatalog = catalog.get();
 		try {
-			return extractionService.extractPearlCampaign(pearlSourceFile);
+			ExtractedCampaigns extractedCampaigns = currentCatalog.extractedCampaigns().next();
+			List<Path> scenarioFolders = listScenarioFolders();
+			List<TrainingScenario> scenarios = trainingScenarioLoader.loadScenarios(scenarioFolders,
+					scenarioProperties.loadingThreads(), extractedCampaigns);
+			extractedCampaigns.detachPrevious();
+			scenarios.forEach(this::prepare);
+			ScenarioCatalog newCatalog = ScenarioCatalog.loaded(currentCatalog.generation() + 1, scenarios,
+					foldersByLabel(scenarioFolders), false, extractedCampaigns);
+			publish(newCatalog, scenarios);
+			lastReloadDurationMillis = System.currentTimeMillis() - start;
+			log.info("Scenarios reloaded : generation {} serves {} scenarios, reloaded in {} ms",
+					newCatalog.generation(), scenarios.size(), lastReloadDurationMillis);
 		} catch (Exception e) {
-			log.warn("Error when extracting campaign from {}", pearlSourceFile.getAbsolutePath(), e);
-			throw new TrainingScenarioLoadingException("Campaign extraction failed", e);
+			log.error("Couldn't reload scenarii folder, generation {} is still served", currentCatalog.generation(),
+					e);
 		}
 	}
 
-	private List<PearlSurveyUnit> extractPearlSurveyUnits(File pearlFodsInput) {
-		try {
-			return extractionService.extractPearlSurveyUnits(pearlFodsInput);
-		} catch (Exception e) {
-			log.error("Error with SU extraction in {}", pearlFodsInput.getAbsolutePath());
-			throw new TrainingScenarioLoadingException("Pearl survey-units extraction failed", e);
+	/**
+	 * Reads the scenarios from the snapshot compiled at package time, provided it matches the scenarii files.
+	 * A missing, stale or unreadable snapshot is not an error : scenarios are then extracted from the scenarii files.
+	 */
+	private Optional<List<TrainingScenario>> readSnapshot() {
+		Resource snapshot = resourceLoader.getResource("classpath:" + ScenarioSnapshot.RESOURCE);
+		if (!snapshot.exists()) {
+			log.info("No scenario snapshot found, scenarios will be extracted");
+			return Optional.empty();
+		}
+		long start = System.currentTimeMillis();
+		try (InputStream inputStream = snapshot.getInputStream()) {
+			String fingerprint = ScenarioSnapshot.fingerprint(scenariiFolder);
+			Optional<List<TrainingScenario>> scenarios = ScenarioSnapshot.read(inputStream, fingerprint);
+			if (scenarios.isEmpty()) {
+				log.warn("Scenario snapshot is stale, scenarios will be extracted");
+			} else {
+				snapshotFingerprint = fingerprint;
+				log.info("Read {} scenarios from snapshot in {} ms", scenarios.get().size(),
+						System.currentTimeMillis() - start);
+			}
+			return scenarios;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Couldn't read scenario snapshot, scenarios will be extracted", e);
+			return Optional.empty();
 		}
 	}
 
-	private List<Assignment> extractAssignments(File pearlFodsInput) {
-		try {
-			return extractionService.extractAssignments(pearlFodsInput);
-		} catch (Exception e) {
-			throw new TrainingScenarioLoadingException("Pearl assignments extraction failed", e);
+	private Optional<TrainingScenario> readSnapshotScenario(String label) {
+		Resource snapshot = resourceLoader.getResource("classpath:" + ScenarioSnapshot.RESOURCE);
+		long start = System.currentTimeMillis();
+		try (InputStream inputStream = snapshot.getInputStream()) {
+			Optional<TrainingScenario> scenario = ScenarioSnapshot.readScenario(inputStream, snapshotFingerprint,
+					label);
+			log.info("Read scenario {} from snapshot in {} ms", label, System.currentTimeMillis() - start);
+			return scenario;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Couldn't read scenario {} from snapshot, it will be extracted", label, e);
+			return Optional.empty();
+		}
+	}
+
+	private void checkScenarioFolder(List<Path> scenarioFolders) {
+		if (scenarioFolders.isEmpty()) {
+			log.error("No scenarios found in the scenarii folder {}.", scenariiFolder);
+			throw new IllegalStateException("No scenarios found in the scenarii folder.");
 		}
 	}
 
 
-	private QueenCampaign extractQueenCampaign(Path queenFolder, File queenSourceFile) {
-		try {
-			QueenCampaign queenCampaign = extractionService.extractQueenCampaign(queenSourceFile);
-			List<QuestionnaireModelDto> questionnaireModels = extractionService
-					.extractQuestionnaires(queenSourceFile, queenFolder);
-			queenCampaign.setQuestionnaireModels(questionnaireModels);
-			List<NomenclatureDto> nomenclatures = extractionService
-					.extractNomenclatures(queenSourceFile, queenFolder);
-			queenCampaign.setNomenclatures(nomenclatures);
-			return queenCampaign;
-		} catch (Exception e) {
-			log.warn("Error when extracting queen campaign from {}", queenFolder.toAbsolutePath());
-			throw new TrainingScenarioLoadingException("Queen Campaign extraction failed", e);
+	private void checkIsInScenariiFolder(Path scenarioDirectory, Path baseFolder) {
+		if (!scenarioDirectory.normalize().startsWith(baseFolder.normalize())) {
+			throw new SecurityException("Scenario directory is outside allowed base path.");
 		}
 	}
 
-	private List<QueenSurveyUnit> extractQueenSurveyUnits(Path queenFolder, File queenSourceFile) {
+
+	/////////////////////////////
+
+	@Override
+	public Optional<TrainingScenario> getTrainingScenarioById(String trainingScenarioId) {
+		ScenarioCatalog currentCatalog = catalog.get();
+		if (!currentCatalog.scenarios().containsKey(trainingScenarioId)) {
+			return Optional.empty();
+		}
 		try {
-			return extractionService.extractQueenSurveyUnits(queenSourceFile,
-					queenFolder);
-		} catch (Exception e) {
-			throw new TrainingScenarioLoadingException("Queen survey-units extraction failed", e);
+			TrainingScenario scenario = loadScenario(currentCatalog, trainingScenarioId).join();
+			access(scenario);
+			return Optional.of(scenario);
+		} catch (CompletionException e) {
+			throw new TrainingScenarioLoadingException("Couldn't load scenario " + trainingScenarioId, e.getCause());
+		} catch (CancellationException e) {
+			// the loading was cancelled, e.g. by a reload shutting the loading executor down
+			throw new TrainingScenarioLoadingException("Loading of scenario " + trainingScenarioId + " was cancelled",
+					e);
 		}
+	}
+
+	@Override
+	public Optional<ScenarioValidationReport> getValidationReport(String trainingScenarioId) {
+		return Optional.ofNullable(validationReports.get(trainingScenarioId));
+	}
 
+	@Override
+	public ScenarioListing getScenarioListing() {
+		// read before building : a change made meanwhile leaves the built listing stale, to be built again
+		long version = listingVersion.get();
+		VersionedListing currentListing = listing;
+		if (currentListing != null && currentListing.version() == version) {
+			return currentListing.listing();
+		}
+		ScenarioListing newListing = buildListing();
+		listing = new VersionedListing(version, newListing);
+		return newListing;
 	}
 
-	private List<MassiveSurveyUnit> mergePearlAndQueenSurveyUnits(List<PearlSurveyUnit> pearlUnits,
-																  List<QueenSurveyUnit> queenUnits) {
-		// Create a map of QueenSurveyUnit by their id for quick lookup
-		Map<String, QueenSurveyUnit> queenUnitMap = queenUnits.stream()
-				.collect(Collectors.toMap(QueenSurveyUnit::getId, queenSu -> queenSu));
-
-		// Map each PearlSurveyUnit to a MassiveSurveyUnit by finding the matching QueenSurveyUnit by id
-		return pearlUnits.stream()
-				.map(pearlSu -> {
-					QueenSurveyUnit queenSu = queenUnitMap.get(pearlSu.getDisplayName());
-					return new MassiveSurveyUnit(pearlSu.getId(), pearlSu, queenSu); // Create MassiveSurveyUnit
-				})
+	// scenarios known to be invalid are left out, the others being listed even before they are loaded
+	private ScenarioListing buildListing() {
+		List<ScenarioSummary> scenarioSummaries = catalog.get().scenarios().values().stream()
+				.filter(scenario -> isValid(scenario.getLabel()))
+				.map(scenario -> summaries.getOrDefault(scenario.getLabel(), ScenarioSummaries.describe(scenario)))
+				.sorted(Comparator.comparing(ScenarioSummary::label))
 				.toList();
+		return ScenarioSummaries.listing(scenarioSummaries);
+	}
 
+	private record VersionedListing(long version, ScenarioListing listing) {
 	}
 
+	@Override
+	public synchronized void registerScenario(TrainingScenario scenario, Path scenarioFolder) throws IOException {
+		// an invalid upload is rejected, the scenario it would replace is kept
+		ScenarioValidationReport validationReport = ScenarioValidator.validate(scenario);
+		if (!validationReport.isValid()) {
+			throw new TrainingScenarioLoadingException(String.format("Scenario %s is invalid : %s",
+					scenario.getLabel(), validationReport.violations()));
+		}
+		// kept along with the other scenarios, so that a reload of the watched folder keeps it
+		// classpath scenarii are read-only : uploads are then kept in the temp folder
+		Path baseFolder = scenarioProperties.isWatchEnabled() ? scenariiFolder : uploadedScenariiFolder();
+		Path targetFolder = baseFolder.resolve(scenario.getLabel());
+		checkIsInScenariiFolder(targetFolder, baseFolder);
+		FileSystemUtils.deleteRecursively(targetFolder);
+		FileUtils.moveDirectory(scenarioFolder.toFile(), targetFolder.toFile());
+		prepare(scenario);
+		ScenarioCatalog newCatalog = catalog.updateAndGet(currentCatalog -> currentCatalog.withScenario(scenario,
+				targetFolder));
+		listingVersion.incrementAndGet();
+		access(scenario);
+		log.info("Scenario {} registered : generation {} serves {} scenarios", scenario.getLabel(),
+				newCatalog.generation(), newCatalog.scenarios().size());
+	}
 
-	/////////////////////////////
+	private Path uploadedScenariiFolder() throws IOException {
+		if (uploadedScenariiFolder == null) {
+			uploadedScenariiFolder = Files.createDirectories(Path.of(applicationProperties.tempFolder(), "scenarii"));
+		}
+		return uploadedScenariiFolder;
+	}
+
+	private boolean isValid(String label) {
+		ScenarioValidationReport validationReport = validationReports.get(label);
+		return validationReport == null || validationReport.isValid();
+	}
 
 	@Override
-	public Optional<TrainingScenario> getTrainingScenarioById(String trainingScenarioId) {
+	public List<ScenarioValidationReport> getValidationReports() {
+		Set<String> labels = catalog.get().scenarios().keySet();
+		return validationReports.values().stream()
+				.filter(validationReport -> labels.contains(validationReport.label()))
+				.sorted(Comparator.comparing(ScenarioValidationReport::label))
+				.toList();
+	}
 
-		if (!scenarioMap.containsKey(trainingScenarioId)) {
-			return Optional.empty();
-		}
-		return Optional.of(scenarioMap.get(trainingScenarioId));
+	@Override
+	public List<ScenarioHeapReport> getHeapReports() {
+		return residency.heapReports();
 	}
 
 	@Override
-	public List<TrainingScenario> getTrainingScenarioIdsAndType() {
-		return scenarioMap.values().stream().map(scenario -> new TrainingScenario(null, scenario.getType(),
-				scenario.getLabel())).toList();
+	public ScenarioLoadingStatus getLoadingStatus() {
+		ScenarioCatalog currentCatalog = catalog.get();
+		int loaded = 0;
+		int failed = 0;
+		for (CompletableFuture<TrainingScenario> scenarioLoading : currentCatalog.loadings().values()) {
+			if (scenarioLoading.isCompletedExceptionally()) {
+				failed++;
+			} else if (scenarioLoading.isDone()) {
+				loaded++;
+			}
+		}
+		int invalid = (int) currentCatalog.scenarios().keySet().stream().filter(label -> !isValid(label)).count();
+		return new ScenarioLoadingStatus(currentCatalog.generation(), currentCatalog.scenarios().size(),
+				loaded, residency.evicted(), failed, invalid, lastReloadDurationMillis, residency.resident(),
+				residency.residentBytes(),
+				scenarioProperties.isMemoryBudgetEnabled() ? scenarioProperties.memoryBudget().toBytes() : null,
+				residency.evictions());
 	}
 }
-
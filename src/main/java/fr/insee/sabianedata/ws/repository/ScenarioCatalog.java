@@ -0,0 +1,95 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One version of the scenarios served by the repository.
+ * <p>
+ * A catalog is never modified once published : reloading the scenarios publishes a new catalog, and requests that
+ * already got a scenario from the previous one keep using it. Only the loadings complete over time, or are dropped
+ * when their scenario is evicted from memory, to be loaded again on demand.
+ *
+ * @param generation         version number, increased by each reload
+ * @param scenarios          available scenarios by label, without their campaigns
+ * @param folders            scenario folders by label, to load scenarios from
+ * @param snapshotLabels     labels of the scenarios which can be read from the snapshot rather than extracted
+ * @param loadings           complete scenarios by label
+ * @param extractedCampaigns campaigns extracted for this catalog, to be reused by the next one
+ */
+record ScenarioCatalog(long generation, Map<String, TrainingScenario> scenarios, Map<String, Path> folders,
+		Set<String> snapshotLabels, Map<String, CompletableFuture<TrainingScenario>> loadings,
+		ExtractedCampaigns extractedCampaigns) {
+
+	static final ScenarioCatalog EMPTY = new ScenarioCatalog(0, Map.of(), Map.of(), Set.of(), Map.of(),
+			ExtractedCampaigns.none());
+
+	/**
+	 * @param fromSnapshot whether the scenarios were read from the snapshot
+	 */
+	static ScenarioCatalog loaded(long generation, List<TrainingScenario> scenarios, Map<String, Path> folders,
+			boolean fromSnapshot, ExtractedCampaigns extractedCampaigns) {
+		Map<String, TrainingScenario> scenarioMap = new HashMap<>();
+		Map<String, CompletableFuture<TrainingScenario>> loadings = new ConcurrentHashMap<>();
+		for (TrainingScenario scenario : scenarios) {
+			scenarioMap.put(scenario.getLabel(), describe(scenario));
+			loadings.put(scenario.getLabel(), CompletableFuture.completedFuture(scenario));
+		}
+		return new ScenarioCatalog(generation, Map.copyOf(scenarioMap), Map.copyOf(folders),
+				fromSnapshot ? Set.copyOf(scenarioMap.keySet()) : Set.of(), loadings, extractedCampaigns);
+	}
+
+	static ScenarioCatalog lazy(long generation, List<TrainingScenario> scenarioInfos, Map<String, Path> folders,
+			ExtractedCampaigns extractedCampaigns) {
+		Map<String, TrainingScenario> scenarioMap = new HashMap<>();
+		scenarioInfos.forEach(scenario -> scenarioMap.put(scenario.getLabel(), describe(scenario)));
+		return new ScenarioCatalog(generation, Map.copyOf(scenarioMap), Map.copyOf(folders), Set.of(),
+				new ConcurrentHashMap<>(), extractedCampaigns);
+	}
+
+	/**
+	 * @param scenario a loaded scenario
+	 * @param folder   folder the scenario can be loaded again from
+	 * @return a new generation of this catalog, with the given scenario added or replaced
+	 */
+	ScenarioCatalog withScenario(TrainingScenario scenario, Path folder) {
+		Map<String, TrainingScenario> scenarioMap = new HashMap<>(scenarios);
+		scenarioMap.put(scenario.getLabel(), describe(scenario));
+		Map<String, Path> folderMap = new HashMap<>(folders);
+		folderMap.put(scenario.getLabel(), folder);
+		Set<String> snapshotLabelSet = new HashSet<>(snapshotLabels);
+		snapshotLabelSet.remove(scenario.getLabel());
+		Map<String, CompletableFuture<TrainingScenario>> loadingMap = new ConcurrentHashMap<>(loadings);
+		loadingMap.put(scenario.getLabel(), CompletableFuture.completedFuture(scenario));
+		return new ScenarioCatalog(generation + 1, Map.copyOf(scenarioMap), Map.copyOf(folderMap),
+				Set.copyOf(snapshotLabelSet), loadingMap, extractedCampaigns);
+	}
+
+	/**
+	 * Drop a loaded scenario, so that it can be collected : it is loaded again on its next access
+	 *
+	 * @return whether the scenario was loaded
+	 */
+	boolean evict(String label) {
+		CompletableFuture<TrainingScenario> loading = loadings.get(label);
+		if (loading == null || !loading.isDone() || loading.isCompletedExceptionally()
+				|| !loadings.remove(label, loading)) {
+			return false;
+		}
+		extractedCampaigns.forget(folders.get(label));
+		return true;
+	}
+
+	// campaigns are only held by the loadings, so that an evicted scenario is not kept in memory
+	private static TrainingScenario describe(TrainingScenario scenario) {
+		return new TrainingScenario(null, scenario.getType(), scenario.getLabel());
+	}
+}
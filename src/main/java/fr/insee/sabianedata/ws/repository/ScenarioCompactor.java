@@ -0,0 +1,316 @@
+package fr.insee.sabianedata.ws.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveSurveyUnit;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.pearl.AdressDto;
+import fr.insee.sabianedata.ws.model.pearl.Assignment;
+import fr.insee.sabianedata.ws.model.pearl.ContactAttemptDto;
+import fr.insee.sabianedata.ws.model.pearl.ContactOutcomeDto;
+import fr.insee.sabianedata.ws.model.pearl.IdentificationData;
+import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
+import fr.insee.sabianedata.ws.model.pearl.PearlSurveyUnit;
+import fr.insee.sabianedata.ws.model.pearl.Person;
+import fr.insee.sabianedata.ws.model.pearl.PhoneNumber;
+import fr.insee.sabianedata.ws.model.pearl.Referent;
+import fr.insee.sabianedata.ws.model.pearl.SampleIdentifiersDto;
+import fr.insee.sabianedata.ws.model.pearl.SurveyUnitStateDto;
+import fr.insee.sabianedata.ws.model.pearl.Visibility;
+import fr.insee.sabianedata.ws.model.queen.NomenclatureDto;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+import fr.insee.sabianedata.ws.model.queen.QueenSurveyUnit;
+import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
+import fr.insee.sabianedata.ws.model.queen.RawJson;
+import fr.insee.sabianedata.ws.utils.HeapSizeEstimator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compaction of a loaded scenario, before it is kept in memory.
+ * <p>
+ * Scenarios are only read once loaded : training courses are generated from copies. Equal strings, JSON documents
+ * and state or contact attempt templates are then shared, collections become immutable lists sized to their
+ * content, and values recomputed by each generation are dropped from the templates. Compacting a scenario again is
+ * harmless : only references to equal values are replaced.
+ * <p>
+ * JSON documents may be shared with other scenarios (see {@link fr.insee.sabianedata.ws.utils.JsonAssetStore}), and
+ * compacted concurrently : they are never modified, their compacted copy is kept instead.
+ */
+final class ScenarioCompactor {
+
+	private final Map<String, String> strings = new HashMap<>();
+	private final Map<JsonNode, JsonNode> documents = new HashMap<>();
+	private final Map<JsonNode, JsonNode> values = new HashMap<>();
+	private final Map<RawJson, RawJson> rawDocuments = new HashMap<>();
+	private final Map<List<String>, SurveyUnitStateDto> states = new HashMap<>();
+	private final Map<List<String>, ContactAttemptDto> contactAttempts = new HashMap<>();
+
+	private ScenarioCompactor() {
+	}
+
+	/**
+	 * Compact a loaded scenario in place
+	 *
+	 * @param scenario loaded scenario
+	 * @return estimated heap of the scenario, before and after compaction
+	 */
+	static ScenarioHeapReport compact(TrainingScenario scenario) {
+		long loadedBytes = HeapSizeEstimator.estimate(scenario);
+		ScenarioCompactor compactor = new ScenarioCompactor();
+		scenario.setCampaigns(compactor.list(scenario.getCampaigns(), compactor::campaign));
+		return new ScenarioHeapReport(scenario.getLabel(), loadedBytes, HeapSizeEstimator.estimate(scenario));
+	}
+
+	private MassiveCampaign campaign(MassiveCampaign campaign) {
+		pearlCampaign(campaign.getPearlCampaign());
+		queenCampaign(campaign.getQueenCampaign());
+		campaign.setSurveyUnits(list(campaign.getSurveyUnits(), this::surveyUnit));
+		campaign.setAssignments(list(campaign.getAssignments(), assignment -> {
+			assignment.setInterviewerId(string(assignment.getInterviewerId()));
+			return assignment;
+		}));
+		return campaign;
+	}
+
+	private void pearlCampaign(PearlCampaign campaign) {
+		if (campaign == null) {
+			return;
+		}
+		campaign.setCampaign(string(campaign.getCampaign()));
+		campaign.setVisibilities(list(campaign.getVisibilities(), this::visibility));
+		campaign.setReferents(list(campaign.getReferents(), this::referent));
+	}
+
+	// generations compute the dates again, relatively to their own reference date : relative dates are compiled once
+	private Visibility visibility(Visibility visibility) {
+		visibility.setOrganizationalUnit(string(visibility.getOrganizationalUnit()));
+		visibility.setCollectionStartDateString(string(visibility.getCollectionStartDateString()));
+		visibility.setCollectionEndDateString(string(visibility.getCollectionEndDateString()));
+		visibility.setIdentificationPhaseStartDateString(string(visibility.getIdentificationPhaseStartDateString()));
+		visibility.setInterviewerStartDateString(string(visibility.getInterviewerStartDateString()));
+		visibility.setManagementStartDateString(string(visibility.getManagementStartDateString()));
+		visibility.setEndDateString(string(visibility.getEndDateString()));
+		visibility.setCollectionStartDate(null);
+		visibility.setCollectionEndDate(null);
+		visibility.setIdentificationPhaseStartDate(null);
+		visibility.setInterviewerStartDate(null);
+		visibility.setManagementStartDate(null);
+		visibility.setEndDate(null);
+		visibility.compileDates();
+		visibility.setMail(string(visibility.getMail()));
+		visibility.setTel(string(visibility.getTel()));
+		return visibility;
+	}
+
+	private Referent referent(Referent referent) {
+		referent.setRole(string(referent.getRole()));
+		return referent;
+	}
+
+	private void queenCampaign(QueenCampaign campaign) {
+		if (campaign == null) {
+			return;
+		}
+		campaign.setId(string(campaign.getId()));
+		campaign.setQuestionnaireIds(list(campaign.getQuestionnaireIds(), this::string));
+		campaign.setQuestionnaireModels(list(campaign.getQuestionnaireModels(), this::questionnaireModel));
+		campaign.setNomenclatures(list(campaign.getNomenclatures(), this::nomenclature));
+	}
+
+	private QuestionnaireModelDto questionnaireModel(QuestionnaireModelDto questionnaireModel) {
+		questionnaireModel.setIdQuestionnaireModel(string(questionnaireModel.getIdQuestionnaireModel()));
+		questionnaireModel.setCampaignId(string(questionnaireModel.getCampaignId()));
+		questionnaireModel.setRequiredNomenclatureIds(list(questionnaireModel.getRequiredNomenclatureIds(),
+				this::string));
+		questionnaireModel.setValue(rawDocument(questionnaireModel.getValue()));
+		return questionnaireModel;
+	}
+
+	private NomenclatureDto nomenclature(NomenclatureDto nomenclature) {
+		nomenclature.setId(string(nomenclature.getId()));
+		nomenclature.setValue(rawDocument(nomenclature.getValue()));
+		return nomenclature;
+	}
+
+	private MassiveSurveyUnit surveyUnit(MassiveSurveyUnit surveyUnit) {
+		pearlSurveyUnit(surveyUnit.getPearlSurveyUnit());
+		queenSurveyUnit(surveyUnit.getQueenSurveyUnit());
+		return surveyUnit;
+	}
+
+	private void pearlSurveyUnit(PearlSurveyUnit surveyUnit) {
+		if (surveyUnit == null) {
+			return;
+		}
+		surveyUnit.setOrganizationUnitId(string(surveyUnit.getOrganizationUnitId()));
+		surveyUnit.setCampaign(string(surveyUnit.getCampaign()));
+		surveyUnit.setInterviewerId(string(surveyUnit.getInterviewerId()));
+		surveyUnit.setPersons(list(surveyUnit.getPersons(), this::person));
+		address(surveyUnit.getAddress());
+		sampleIdentifiers(surveyUnit.getSampleIdentifiers());
+		identification(surveyUnit.getIdentification());
+		contactOutcome(surveyUnit.getContactOutcome());
+		// comments are built again from the comment by each generation
+		surveyUnit.setComments(null);
+		surveyUnit.setStates(list(surveyUnit.getStates(), this::state));
+		surveyUnit.setContactAttempts(list(surveyUnit.getContactAttempts(), this::contactAttempt));
+	}
+
+	private Person person(Person person) {
+		person.setTitle(string(person.getTitle()));
+		if (person.getPhoneNumbers() != null) {
+			person.getPhoneNumbers().replaceAll(this::phoneNumber);
+			person.getPhoneNumbers().trimToSize();
+		}
+		return person;
+	}
+
+	private PhoneNumber phoneNumber(PhoneNumber phoneNumber) {
+		phoneNumber.setSource(string(phoneNumber.getSource()));
+		return phoneNumber;
+	}
+
+	private void address(AdressDto address) {
+		if (address == null) {
+			return;
+		}
+		address.setL5(string(address.getL5()));
+		address.setL6(string(address.getL6()));
+		address.setL7(string(address.getL7()));
+		address.setBuilding(string(address.getBuilding()));
+		address.setFloor(string(address.getFloor()));
+		address.setDoor(string(address.getDoor()));
+		address.setStaircase(string(address.getStaircase()));
+	}
+
+	private void sampleIdentifiers(SampleIdentifiersDto sampleIdentifiers) {
+		if (sampleIdentifiers == null) {
+			return;
+		}
+		sampleIdentifiers.setBs(string(sampleIdentifiers.getBs()));
+		sampleIdentifiers.setEc(string(sampleIdentifiers.getEc()));
+		sampleIdentifiers.setLe(string(sampleIdentifiers.getLe()));
+		sampleIdentifiers.setNoi(string(sampleIdentifiers.getNoi()));
+		sampleIdentifiers.setNumfa(string(sampleIdentifiers.getNumfa()));
+		sampleIdentifiers.setRges(string(sampleIdentifiers.getRges()));
+		sampleIdentifiers.setSsech(string(sampleIdentifiers.getSsech()));
+		sampleIdentifiers.setNolog(string(sampleIdentifiers.getNolog()));
+		sampleIdentifiers.setNole(string(sampleIdentifiers.getNole()));
+		sampleIdentifiers.setAutre(string(sampleIdentifiers.getAutre()));
+		sampleIdentifiers.setNograp(string(sampleIdentifiers.getNograp()));
+	}
+
+	// setters ignore blank values : only set values are interned
+	private void identification(IdentificationData identification) {
+		if (identification == null) {
+			return;
+		}
+		identification.setIdentification(string(identification.getIdentification()));
+		identification.setAccess(string(identification.getAccess()));
+		identification.setSituation(string(identification.getSituation()));
+		identification.setCategory(string(identification.getCategory()));
+		identification.setOccupant(string(identification.getOccupant()));
+	}
+
+	private void contactOutcome(ContactOutcomeDto contactOutcome) {
+		if (contactOutcome == null) {
+			return;
+		}
+		contactOutcome.setType(string(contactOutcome.getType()));
+		contactOutcome.setAttemptsNumber(string(contactOutcome.getAttemptsNumber()));
+		contactOutcome.setDateString(string(contactOutcome.getDateString()));
+		contactOutcome.setDate(null);
+		contactOutcome.compileDate();
+	}
+
+	// a state template is only its type and relative date : equal templates are shared, their date compiled once
+	private SurveyUnitStateDto state(SurveyUnitStateDto state) {
+		return states.computeIfAbsent(key(state.getType(), state.getDateString()), key -> {
+			state.setType(string(state.getType()));
+			state.setDateString(string(state.getDateString()));
+			state.setDate(null);
+			state.compileDate();
+			return state;
+		});
+	}
+
+	private ContactAttemptDto contactAttempt(ContactAttemptDto contactAttempt) {
+		return contactAttempts.computeIfAbsent(key(contactAttempt.getStatus(), contactAttempt.getDateString(),
+				contactAttempt.getMedium()), key -> {
+			contactAttempt.setStatus(string(contactAttempt.getStatus()));
+			contactAttempt.setDateString(string(contactAttempt.getDateString()));
+			contactAttempt.setMedium(string(contactAttempt.getMedium()));
+			contactAttempt.setDate(null);
+			contactAttempt.compileDate();
+			return contactAttempt;
+		});
+	}
+
+	private void queenSurveyUnit(QueenSurveyUnit surveyUnit) {
+		if (surveyUnit == null) {
+			return;
+		}
+		surveyUnit.setQuestionnaireId(string(surveyUnit.getQuestionnaireId()));
+		surveyUnit.setData(document(surveyUnit.getData()));
+		surveyUnit.setComment(document(surveyUnit.getComment()));
+		surveyUnit.setPersonalization(document(surveyUnit.getPersonalization()));
+		surveyUnit.setStateData(document(surveyUnit.getStateData()));
+	}
+
+	// equal documents are shared whole, the values of the others are shared one by one
+	private JsonNode document(JsonNode document) {
+		if (document == null) {
+			return null;
+		}
+		return documents.computeIfAbsent(document, this::value);
+	}
+
+	private RawJson rawDocument(RawJson document) {
+		return document == null ? null : rawDocuments.computeIfAbsent(document, key -> key);
+	}
+
+	// containers are copied, scalar values being immutable they are shared
+	private JsonNode value(JsonNode node) {
+		if (node instanceof ObjectNode objectNode) {
+			ObjectNode copy = JsonNodeFactory.instance.objectNode();
+			for (Map.Entry<String, JsonNode> property : objectNode.properties()) {
+				copy.set(string(property.getKey()), value(property.getValue()));
+			}
+			return copy;
+		}
+		if (node instanceof ArrayNode arrayNode) {
+			ArrayNode copy = JsonNodeFactory.instance.arrayNode(arrayNode.size());
+			for (JsonNode element : arrayNode) {
+				copy.add(value(element));
+			}
+			return copy;
+		}
+		return values.computeIfAbsent(node, key -> key);
+	}
+
+	private String string(String value) {
+		return value == null ? null : strings.computeIfAbsent(value, key -> key);
+	}
+
+	private <T> List<T> list(List<T> list, UnaryOperator<T> compaction) {
+		if (list == null) {
+			return null;
+		}
+		// an unmodifiable list, backed by an array sized to its content
+		return list.stream().map(element -> element == null ? null : compaction.apply(element)).toList();
+	}
+
+	// template values may be null
+	private static List<String> key(String... values) {
+		return Arrays.asList(values);
+	}
+}
@@ -0,0 +1,96 @@
+package fr.insee.sabianedata.ws.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watch a scenarii folder and all its sub-folders, and notify once changes are over.
+ * <p>
+ * Copying a scenario raises many events : changes are only notified once the folder has been quiet for a while,
+ * so that a scenario is never reloaded half-copied.
+ */
+@Slf4j
+class ScenarioFolderWatcher implements Closeable {
+
+	private static final long QUIET_PERIOD_MILLIS = 2000;
+
+	private final WatchService watchService;
+	private final Runnable onChange;
+	private final Thread thread;
+
+	ScenarioFolderWatcher(Path folder, Runnable onChange) throws IOException {
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.onChange = onChange;
+		registerRecursively(folder);
+		this.thread = new Thread(this::watch, "scenario-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+		log.info("Watching scenarii folder {}", folder);
+	}
+
+	private void watch() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				handle(watchService.take());
+				WatchKey key;
+				while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					handle(key);
+				}
+				onChange.run();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			log.debug("Scenarii folder watcher closed");
+		}
+	}
+
+	private void handle(WatchKey key) {
+		Path directory = (Path) key.watchable();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+				Path created = directory.resolve((Path) event.context());
+				if (Files.isDirectory(created)) {
+					registerQuietly(created);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	private void registerQuietly(Path folder) {
+		try {
+			registerRecursively(folder);
+		} catch (IOException e) {
+			log.warn("Couldn't watch folder {}", folder, e);
+		}
+	}
+
+	// a watch service only reports changes of the direct children of a folder
+	private void registerRecursively(Path folder) throws IOException {
+		try (Stream<Path> folders = Files.walk(folder)) {
+			for (Path subFolder : folders.filter(Files::isDirectory).toList()) {
+				subFolder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		thread.interrupt();
+		watchService.close();
+	}
+}
@@ -0,0 +1,96 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loaded scenarios kept in memory, from the least to the most recently used, within a memory budget.
+ * <p>
+ * The footprint of a scenario is its estimated heap once compacted. Once the budget is exceeded, the least recently
+ * used scenarios are to be evicted, the most recently used one always staying resident.
+ */
+final class ScenarioResidency {
+
+	// 0 when unlimited
+	private final long budgetBytes;
+	private final LinkedHashMap<String, ScenarioHeapReport> residents = new LinkedHashMap<>(16, 0.75f, true);
+	private final Set<String> evicted = new HashSet<>();
+	private long residentBytes;
+	private long evictions;
+
+	ScenarioResidency(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+	}
+
+	/**
+	 * Record an access to a loaded scenario, making it resident if it wasn't, or updating its footprint if it was
+	 * loaded again (e.g. uploaded anew)
+	 *
+	 * @param heapReport heap of the loaded scenario
+	 * @return labels of the scenarios to evict, from the least recently used
+	 */
+	synchronized List<String> access(ScenarioHeapReport heapReport) {
+		String label = heapReport.label();
+		ScenarioHeapReport previous = residents.put(label, heapReport);
+		if (previous == heapReport) {
+			return List.of();
+		}
+		residentBytes += heapReport.compactedBytes() - (previous == null ? 0 : previous.compactedBytes());
+		evicted.remove(label);
+		return evictBeyondBudget();
+	}
+
+	/**
+	 * Forget every scenario and its evictions, when a new version of the scenarios is served
+	 */
+	synchronized void clear() {
+		residents.clear();
+		evicted.clear();
+		residentBytes = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * @return heap of the resident scenarios, from the least to the most recently used
+	 */
+	synchronized List<ScenarioHeapReport> heapReports() {
+		return List.copyOf(residents.values());
+	}
+
+	synchronized int resident() {
+		return residents.size();
+	}
+
+	synchronized int evicted() {
+		return evicted.size();
+	}
+
+	synchronized long residentBytes() {
+		return residentBytes;
+	}
+
+	synchronized long evictions() {
+		return evictions;
+	}
+
+	private List<String> evictBeyondBudget() {
+		List<String> labels = new ArrayList<>();
+		Iterator<Map.Entry<String, ScenarioHeapReport>> leastRecentlyUsed = residents.entrySet().iterator();
+		while (budgetBytes > 0 && residentBytes > budgetBytes && residents.size() > 1) {
+			Map.Entry<String, ScenarioHeapReport> entry = leastRecentlyUsed.next();
+			leastRecentlyUsed.remove();
+			residentBytes -= entry.getValue().compactedBytes();
+			evicted.add(entry.getKey());
+			evictions++;
+			labels.add(entry.getKey());
+		}
+		return labels;
+	}
+}
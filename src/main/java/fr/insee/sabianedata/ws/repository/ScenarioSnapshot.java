@@ -0,0 +1,259 @@
+package fr.insee.sabianedata.ws.repository;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.queen.RawJson;
+import fr.insee.sabianedata.ws.service.xsl.PearlCampaignTransformer;
+import fr.insee.sabianedata.ws.service.xsl.QueenCampaignTransformer;
+import fr.insee.sabianedata.ws.utils.InputStreamUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary (Smile) snapshot of extracted training scenarios.
+ * <p>
+ * The snapshot is compiled at package time from the shipped scenarii, so that the application doesn't have to run
+ * the extraction pipeline at startup. It carries a fingerprint of its inputs (scenarii files and extraction
+ * stylesheets) : a snapshot whose fingerprint doesn't match the scenarii it is loaded against is stale and ignored.
+ */
+public final class ScenarioSnapshot {
+
+	public static final String RESOURCE = "scenarii.snapshot";
+
+	// to be increased whenever the serialized model changes in an incompatible way
+	private static final int FORMAT_VERSION = 3;
+	private static final String FORMAT_VERSION_FIELD = "formatVersion";
+	private static final String FINGERPRINT_FIELD = "fingerprint";
+	private static final String SCENARIOS_FIELD = "scenarios";
+
+	private static final List<String> STYLESHEETS = List.of(
+			"/xslt/utils.xsl",
+			PearlCampaignTransformer.PEARL_EXTRACT_CAMPAIGN,
+			PearlCampaignTransformer.PEARL_EXTRACT_ASSIGNMENT,
+			PearlCampaignTransformer.PEARL_EXTRACT_SURVEY_UNITS,
+			QueenCampaignTransformer.QUEEN_EXTRACT_CAMPAIGN,
+			QueenCampaignTransformer.QUEEN_EXTRACT_QUESTIONNAIRE,
+			QueenCampaignTransformer.QUEEN_EXTRACT_SURVEY_UNITS,
+			QueenCampaignTransformer.QUEEN_EXTRACT_NOMENCLATURES);
+
+	// the whole model is written field by field, ignoring annotations meant for the XML sources and the APIs
+	private static final SmileMapper mapper = SmileMapper.builder()
+			.disable(MapperFeature.USE_ANNOTATIONS)
+			.visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+			.addModule(new SimpleModule()
+					.addDeserializer(JsonNode.class, new NullPreservingJsonNodeDeserializer())
+					.addSerializer(RawJson.class, new RawJsonSerializer())
+					.addDeserializer(RawJson.class, new RawJsonDeserializer()))
+			.build();
+
+	private ScenarioSnapshot() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	public static void write(List<TrainingScenario> scenarios, String fingerprint, OutputStream outputStream)
+			throws IOException {
+		try (JsonGenerator generator = mapper.createGenerator(outputStream)) {
+			generator.writeStartObject();
+			generator.writeNumberField(FORMAT_VERSION_FIELD, FORMAT_VERSION);
+			generator.writeStringField(FINGERPRINT_FIELD, fingerprint);
+			generator.writeFieldName(SCENARIOS_FIELD);
+			mapper.writeValue(generator, scenarios);
+			generator.writeEndObject();
+		}
+	}
+
+	/**
+	 * Read a snapshot, provided it was compiled from the expected inputs
+	 *
+	 * @param inputStream         the snapshot
+	 * @param expectedFingerprint fingerprint of the scenarii the snapshot should describe
+	 * @return the scenarios of the snapshot, or empty if the snapshot is stale
+	 */
+	public static Optional<List<TrainingScenario>> read(InputStream inputStream, String expectedFingerprint)
+			throws IOException {
+		try (JsonParser parser = mapper.createParser(inputStream)) {
+			if (!readHeader(parser, expectedFingerprint)) {
+				return Optional.empty();
+			}
+			parser.nextToken();
+			return Optional.of(mapper.readValue(parser, new TypeReference<List<TrainingScenario>>() {
+			}));
+		}
+	}
+
+	/**
+	 * Read a single scenario of a snapshot, provided it was compiled from the expected inputs. Scenarios are
+	 * decoded one at a time, so that only the requested one is kept.
+	 *
+	 * @param inputStream         the snapshot
+	 * @param expectedFingerprint fingerprint of the scenarii the snapshot should describe
+	 * @param label               label of the scenario
+	 * @return the scenario, or empty if the snapshot is stale or doesn't hold it
+	 */
+	public static Optional<TrainingScenario> readScenario(InputStream inputStream, String expectedFingerprint,
+			String label) throws IOException {
+		try (JsonParser parser = mapper.createParser(inputStream)) {
+			if (!readHeader(parser, expectedFingerprint)) {
+				return Optional.empty();
+			}
+			expectToken(parser.nextToken(), JsonToken.START_ARRAY);
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				TrainingScenario scenario = mapper.readValue(parser, TrainingScenario.class);
+				if (label.equals(scenario.getLabel())) {
+					return Optional.of(scenario);
+				}
+			}
+			return Optional.empty();
+		}
+	}
+
+	static void writeCampaign(MassiveCampaign campaign, OutputStream outputStream) throws IOException {
+		mapper.writeValue(outputStream, campaign);
+	}
+
+	static MassiveCampaign readCampaign(InputStream inputStream) throws IOException {
+		return mapper.readValue(inputStream, MassiveCampaign.class);
+	}
+
+	/**
+	 * Fingerprint everything the extraction of a folder depends on : every file of the folder and the stylesheets
+	 *
+	 * @param scenariiFolder scenarii, scenario or campaign folder
+	 * @return hex-encoded SHA-256 of the extraction inputs
+	 */
+	public static String fingerprint(Path scenariiFolder) throws IOException {
+		MessageDigest digest = newDigest();
+		digest.update(Integer.toString(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+		try (Stream<Path> paths = Files.walk(scenariiFolder)) {
+			List<Path> files = paths.filter(Files::isRegularFile).sorted().toList();
+			for (Path file : files) {
+				String relativePath = scenariiFolder.relativize(file).toString().replace('\\', '/');
+				digest.update(relativePath.getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(file));
+			}
+		}
+		for (String stylesheet : STYLESHEETS) {
+			try (InputStream xsl = InputStreamUtil.getInputStreamFromPath(stylesheet)) {
+				digest.update(stylesheet.getBytes(StandardCharsets.UTF_8));
+				digest.update(xsl.readAllBytes());
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	// format version and fingerprint : false if the snapshot is stale
+	private static boolean readHeader(JsonParser parser, String expectedFingerprint) throws IOException {
+		expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+		expectField(parser, FORMAT_VERSION_FIELD);
+		if (parser.nextIntValue(-1) != FORMAT_VERSION) {
+			return false;
+		}
+		expectField(parser, FINGERPRINT_FIELD);
+		if (!expectedFingerprint.equals(parser.nextTextValue())) {
+			return false;
+		}
+		expectField(parser, SCENARIOS_FIELD);
+		return true;
+	}
+
+	private static void expectField(JsonParser parser, String fieldName) throws IOException {
+		if (!fieldName.equals(parser.nextFieldName())) {
+			throw new IOException(String.format("Invalid snapshot : %s field expected", fieldName));
+		}
+	}
+
+	private static void expectToken(JsonToken actual, JsonToken expected) throws IOException {
+		if (actual != expected) {
+			throw new IOException(String.format("Invalid snapshot : %s expected but was %s", expected, actual));
+		}
+	}
+
+	/**
+	 * A missing JSON document (i.e. a survey-unit without state-data) must stay `null`, not become a `NullNode`
+	 */
+	private static class NullPreservingJsonNodeDeserializer extends StdDeserializer<JsonNode> {
+
+		private final transient JsonDeserializer<? extends JsonNode> delegate =
+				JsonNodeDeserializer.getDeserializer(JsonNode.class);
+
+		NullPreservingJsonNodeDeserializer() {
+			super(JsonNode.class);
+		}
+
+		@Override
+		public JsonNode deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			return delegate.deserialize(parser, context);
+		}
+
+		@Override
+		public JsonNode getNullValue(DeserializationContext context) {
+			return null;
+		}
+	}
+
+	/**
+	 * Raw documents are written as binary values, documents on disk being copied in the snapshot : they are read
+	 * back in memory.
+	 */
+	private static class RawJsonSerializer extends StdSerializer<RawJson> {
+
+		RawJsonSerializer() {
+			super(RawJson.class);
+		}
+
+		@Override
+		public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			try (InputStream content = value.openStream()) {
+				generator.writeBinary(content, Math.toIntExact(value.length()));
+			}
+		}
+	}
+
+	private static class RawJsonDeserializer extends StdDeserializer<RawJson> {
+
+		RawJsonDeserializer() {
+			super(RawJson.class);
+		}
+
+		@Override
+		public RawJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			return new RawJson(parser.getBinaryValue());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.service.ExtractionService;
+import fr.insee.sabianedata.ws.service.NomenclatureStore;
+import fr.insee.sabianedata.ws.service.PearlExtractEntities;
+import fr.insee.sabianedata.ws.service.PearlTransformService;
+import fr.insee.sabianedata.ws.service.QueenExtractEntities;
+import fr.insee.sabianedata.ws.service.QueenTransformService;
+import fr.insee.sabianedata.ws.service.SurveyUnitPartitioner;
+import fr.insee.sabianedata.ws.service.XslPearlEntityReader;
+import fr.insee.sabianedata.ws.service.XslQueenEntityReader;
+import fr.insee.sabianedata.ws.service.xsl.PearlCampaignTransformer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build step compiling the shipped scenarii into a {@link ScenarioSnapshot}.
+ * <p>
+ * Runs the same extraction as the application, without the Spring context : any extraction error fails the build.
+ * Usage : {@code ScenarioSnapshotCompiler <scenarii folder> <snapshot file>}
+ */
+@Slf4j
+public final class ScenarioSnapshotCompiler {
+
+	private ScenarioSnapshotCompiler() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage : ScenarioSnapshotCompiler <scenarii folder> <snapshot file>");
+		}
+		Path scenariiFolder = Path.of(args[0]);
+		Path snapshotFile = Path.of(args[1]);
+
+		List<Path> scenarioFolders;
+		try (Stream<Path> children = Files.list(scenariiFolder)) {
+			scenarioFolders = children.filter(Files::isDirectory)
+					.sorted(Comparator.comparing(folder -> folder.getFileName().toString()))
+					.toList();
+		}
+		if (scenarioFolders.isEmpty()) {
+			throw new IllegalStateException("No scenarios found in " + scenariiFolder);
+		}
+
+		long start = System.currentTimeMillis();
+		// the build always extracts from scratch, with the reference XSLT engine, nomenclatures being kept in memory
+		int processors = Runtime.getRuntime().availableProcessors();
+		int loadingThreads = processors;
+		int surveyUnitThreads = processors;
+		int surveyUnitPartitionSize = 1000;
+		ScenarioProperties scenarioProperties = new ScenarioProperties(loadingThreads, null, false, null,
+				surveyUnitThreads, surveyUnitPartitionSize, null, null);
+		SurveyUnitPartitioner surveyUnitPartitioner = new SurveyUnitPartitioner(surveyUnitThreads,
+				surveyUnitPartitionSize);
+		ExtractionService extractionService = new ExtractionService(
+				new QueenExtractEntities(new XslQueenEntityReader(new QueenTransformService()), surveyUnitPartitioner,
+						new NomenclatureStore(scenarioProperties, null)),
+				new PearlExtractEntities(new XslPearlEntityReader(new PearlTransformService(new PearlCampaignTransformer()))));
+		List<TrainingScenario> scenarios = new TrainingScenarioLoader(extractionService, new ExtractionCache(scenarioProperties))
+				.loadScenarios(scenarioFolders, scenarioProperties.loadingThreads());
+		// shipped scenarios must all be generable
+		for (TrainingScenario scenario : scenarios) {
+			ScenarioValidationReport validationReport = ScenarioValidator.validate(scenario);
+			if (!validationReport.isValid()) {
+				throw new IllegalStateException(String.format("Scenario %s is invalid : %s", scenario.getLabel(),
+						validationReport.violations()));
+			}
+		}
+
+		String fingerprint = ScenarioSnapshot.fingerprint(scenariiFolder);
+		try (OutputStream outputStream = Files.newOutputStream(snapshotFile)) {
+			ScenarioSnapshot.write(scenarios, fingerprint, outputStream);
+		}
+		log.info("Compiled {} scenarios into {} ({} bytes) in {} ms", scenarios.size(), snapshotFile,
+				Files.size(snapshotFile), System.currentTimeMillis() - start);
+	}
+}
@@ -0,0 +1,162 @@
+package fr.insee.sabianedata.ws.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.insee.sabianedata.ws.model.massive_attack.CampaignSummary;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveSurveyUnit;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioSummary;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioType;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Summaries of the scenarios, computed once per loading so that listing the scenarios costs no traversal.
+ * <p>
+ * Payloads are measured as the JSON request bodies of a generation, the survey units of the scenario standing for
+ * the ones generated from them. Calls follow the posts of a generation : the Pearl campaign, its survey units at once
+ * and their assignments, then each nomenclature and questionnaire model, the Queen campaign and each Queen survey
+ * unit. Each trainee is also checked against the Pearl API. When survey units are posted chunk by chunk, Pearl survey
+ * units and assignments are posted once per chunk instead, as counted by {@link ScenarioSummary#callsPerChunk()}.
+ */
+final class ScenarioSummaries {
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	// Pearl campaign, Queen campaign
+	private static final int CAMPAIGN_CALLS = 2;
+	// Pearl survey units, assignments
+	private static final int CHUNK_CALLS = 2;
+	private static final int TRAINEE_CALLS = 1;
+
+	private ScenarioSummaries() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * @param scenario scenario of the catalog, not loaded yet
+	 * @return its summary, without sizes
+	 */
+	static ScenarioSummary describe(TrainingScenario scenario) {
+		return new ScenarioSummary(scenario.getLabel(), scenario.getType(), null, null, null, null, null, null, null);
+	}
+
+	/**
+	 * @param scenario          loaded scenario, before its compaction
+	 * @param pipelineChunkSize survey units of a chunk when posted chunk by chunk, 0 when posted at once
+	 * @return its summary, with the size of each campaign and of a generation
+	 */
+	static ScenarioSummary summarize(TrainingScenario scenario, int pipelineChunkSize) {
+		boolean chunked = pipelineChunkSize > 0;
+		List<CampaignSummary> campaigns = new ArrayList<>();
+		if (scenario.getCampaigns() != null) {
+			scenario.getCampaigns().forEach(campaign -> campaigns.add(summarize(campaign, chunked)));
+		}
+		Integer surveyUnitsPerChunk = chunked ? pipelineChunkSize : null;
+		Integer callsPerChunk = chunked ? CHUNK_CALLS : null;
+		int campaignCalls = 0;
+		int surveyUnitCalls = 0;
+		long campaignPayloadBytes = 0;
+		long surveyUnitPayloadBytes = 0;
+		for (CampaignSummary campaign : campaigns) {
+			campaignCalls += campaign.campaignCalls();
+			surveyUnitCalls += campaign.surveyUnitCalls();
+			campaignPayloadBytes += campaign.campaignPayloadBytes();
+			surveyUnitPayloadBytes += campaign.surveyUnitPayloadBytes();
+		}
+		// each interviewer gets a copy of every survey unit, managers share them
+		if (scenario.getType() == ScenarioType.INTERVIEWER) {
+			return new ScenarioSummary(scenario.getLabel(), scenario.getType(), List.copyOf(campaigns),
+					campaignCalls, surveyUnitCalls + TRAINEE_CALLS, campaignPayloadBytes, surveyUnitPayloadBytes,
+					surveyUnitsPerChunk, callsPerChunk);
+		}
+		return new ScenarioSummary(scenario.getLabel(), scenario.getType(), List.copyOf(campaigns),
+				campaignCalls + surveyUnitCalls, TRAINEE_CALLS, campaignPayloadBytes + surveyUnitPayloadBytes, 0L,
+				surveyUnitsPerChunk, callsPerChunk);
+	}
+
+	private static CampaignSummary summarize(MassiveCampaign campaign, boolean chunked) {
+		QueenCampaign queenCampaign = campaign.getQueenCampaign();
+		List<?> questionnaireModels = queenCampaign == null ? List.of() : list(queenCampaign.getQuestionnaireModels());
+		List<?> nomenclatures = queenCampaign == null ? List.of() : list(queenCampaign.getNomenclatures());
+		List<MassiveSurveyUnit> surveyUnits = list(campaign.getSurveyUnits());
+
+		long campaignPayloadBytes = payloadBytes(campaign.getPearlCampaign()) + payloadBytes(queenCampaign);
+		for (Object questionnaireModel : questionnaireModels) {
+			campaignPayloadBytes += payloadBytes(questionnaireModel);
+		}
+		for (Object nomenclature : nomenclatures) {
+			campaignPayloadBytes += payloadBytes(nomenclature);
+		}
+		// Pearl survey units are posted at once, Queen ones one by one ; assignments follow the survey units
+		long surveyUnitPayloadBytes = payloadBytes(surveyUnits.stream()
+				.map(MassiveSurveyUnit::getPearlSurveyUnit)
+				.toList()) + payloadBytes(list(campaign.getAssignments()));
+		for (MassiveSurveyUnit surveyUnit : surveyUnits) {
+			surveyUnitPayloadBytes += payloadBytes(surveyUnit.getQueenSurveyUnit());
+		}
+		return new CampaignSummary(campaign.getId(), surveyUnits.size(), questionnaireModels.size(),
+				nomenclatures.size(), campaignPayloadBytes, surveyUnitPayloadBytes,
+				CAMPAIGN_CALLS + (chunked ? 0 : CHUNK_CALLS) + questionnaireModels.size() + nomenclatures.size(),
+				surveyUnits.size());
+	}
+
+	/**
+	 * @param summaries summaries of the listed scenarios, by label
+	 * @return the listing, tagged after its content : the same scenarios get the same tag across restarts
+	 */
+	static ScenarioListing listing(List<ScenarioSummary> summaries) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			String hash = HexFormat.of().formatHex(digest.digest(mapper.writeValueAsBytes(summaries)), 0, 16);
+			return new ScenarioListing("\"" + hash + "\"", summaries);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	// bytes of the JSON request body, counted as it is written
+	private static long payloadBytes(Object body) {
+		if (body == null) {
+			return 0;
+		}
+		ByteCounter counter = new ByteCounter();
+		try {
+			mapper.writeValue(counter, body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return counter.count;
+	}
+
+	private static <T> List<T> list(List<T> list) {
+		return list == null ? List.of() : list;
+	}
+
+	private static final class ByteCounter extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
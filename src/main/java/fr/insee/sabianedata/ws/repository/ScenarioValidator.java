@@ -0,0 +1,141 @@
+package fr.insee.sabianedata.ws.repository;
+
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveSurveyUnit;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioType;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.pearl.Assignment;
+import fr.insee.sabianedata.ws.model.queen.NomenclatureDto;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Referential integrity of a loaded scenario, checked before any training course is generated from it.
+ * <p>
+ * The identifiers of each campaign are indexed once, every reference is then looked up : a campaign is validated in
+ * linear time. The references checked are those a generation follows, and which would otherwise only fail once some
+ * entities are already posted to the Pearl and Queen APIs.
+ */
+final class ScenarioValidator {
+
+	// a broken workbook may break every survey unit : only the first violations are detailed
+	private static final int MAX_VIOLATIONS = 50;
+
+	private final List<String> violations = new ArrayList<>();
+	private int omittedViolations;
+
+	private ScenarioValidator() {
+	}
+
+	/**
+	 * @param scenario loaded scenario
+	 * @return broken references of the scenario
+	 */
+	static ScenarioValidationReport validate(TrainingScenario scenario) {
+		ScenarioValidator validator = new ScenarioValidator();
+		if (scenario.getCampaigns() != null) {
+			for (MassiveCampaign campaign : scenario.getCampaigns()) {
+				validator.campaign(campaign, scenario.getType());
+			}
+		}
+		if (validator.omittedViolations > 0) {
+			validator.violations.add(String.format("... and %d more", validator.omittedViolations));
+		}
+		return new ScenarioValidationReport(scenario.getLabel(), List.copyOf(validator.violations));
+	}
+
+	private void campaign(MassiveCampaign campaign, ScenarioType type) {
+		if (campaign.getPearlCampaign() == null || campaign.getQueenCampaign() == null) {
+			violation("campaign has no %s campaign", campaign.getPearlCampaign() == null ? "Pearl" : "Queen");
+			return;
+		}
+		String campaignId = campaign.getId();
+		Set<String> questionnaireIds = questionnaireModels(campaignId, campaign.getQueenCampaign());
+		Set<String> surveyUnitIds = surveyUnits(campaignId, campaign.getSurveyUnits(), questionnaireIds);
+		// assignments are only followed when survey units are dispatched to their interviewer
+		if (type == ScenarioType.MANAGER) {
+			assignments(campaignId, campaign.getAssignments(), surveyUnitIds);
+		}
+	}
+
+	private Set<String> questionnaireModels(String campaignId, QueenCampaign queenCampaign) {
+		Set<String> nomenclatureIds = new HashSet<>();
+		for (NomenclatureDto nomenclature : list(queenCampaign.getNomenclatures())) {
+			nomenclatureIds.add(nomenclature.getId());
+			if (nomenclature.getValue() == null) {
+				violation("campaign %s : nomenclature %s has no readable file", campaignId, nomenclature.getId());
+			}
+		}
+		Set<String> questionnaireIds = new HashSet<>();
+		for (QuestionnaireModelDto questionnaireModel : list(queenCampaign.getQuestionnaireModels())) {
+			String questionnaireId = questionnaireModel.getIdQuestionnaireModel();
+			if (!questionnaireIds.add(questionnaireId)) {
+				violation("campaign %s : questionnaire model %s is declared twice", campaignId, questionnaireId);
+			}
+			if (questionnaireModel.getValue() == null) {
+				violation("campaign %s : questionnaire model %s has no readable file", campaignId, questionnaireId);
+			}
+			for (String nomenclatureId : list(questionnaireModel.getRequiredNomenclatureIds())) {
+				if (!nomenclatureIds.contains(nomenclatureId)) {
+					violation("campaign %s : questionnaire model %s requires unknown nomenclature %s", campaignId,
+							questionnaireId, nomenclatureId);
+				}
+			}
+		}
+		return questionnaireIds;
+	}
+
+	private Set<String> surveyUnits(String campaignId, List<MassiveSurveyUnit> surveyUnits,
+			Set<String> questionnaireIds) {
+		Set<String> surveyUnitIds = new HashSet<>();
+		for (MassiveSurveyUnit surveyUnit : list(surveyUnits)) {
+			if (surveyUnit.getPearlSurveyUnit() == null) {
+				violation("campaign %s : survey unit %s has no Pearl survey unit", campaignId, surveyUnit.getId());
+				continue;
+			}
+			// the workbooks identify a survey unit by its display name, as do Queen survey units and assignments
+			String surveyUnitId = surveyUnit.getPearlSurveyUnit().getDisplayName();
+			if (!surveyUnitIds.add(surveyUnitId)) {
+				violation("campaign %s : survey unit %s is declared twice", campaignId, surveyUnitId);
+			}
+			if (surveyUnit.getQueenSurveyUnit() == null) {
+				violation("campaign %s : survey unit %s has no Queen survey unit", campaignId, surveyUnitId);
+			} else if (!questionnaireIds.contains(surveyUnit.getQueenSurveyUnit().getQuestionnaireId())) {
+				violation("campaign %s : survey unit %s references unknown questionnaire model %s", campaignId,
+						surveyUnitId, surveyUnit.getQueenSurveyUnit().getQuestionnaireId());
+			}
+		}
+		return surveyUnitIds;
+	}
+
+	private void assignments(String campaignId, List<Assignment> assignments, Set<String> surveyUnitIds) {
+		Set<String> assignedIds = new HashSet<>();
+		for (Assignment assignment : list(assignments)) {
+			String surveyUnitId = assignment.getSurveyUnitId();
+			if (!surveyUnitIds.contains(surveyUnitId)) {
+				violation("campaign %s : assignment references unknown survey unit %s", campaignId, surveyUnitId);
+			}
+			if (!assignedIds.add(surveyUnitId)) {
+				violation("campaign %s : survey unit %s is assigned twice", campaignId, surveyUnitId);
+			}
+		}
+	}
+
+	private void violation(String format, Object... arguments) {
+		if (violations.size() < MAX_VIOLATIONS) {
+			violations.add(String.format(format, arguments));
+		} else {
+			omittedViolations++;
+		}
+	}
+
+	private static <T> List<T> list(List<T> list) {
+		return list == null ? List.of() : list;
+	}
+}
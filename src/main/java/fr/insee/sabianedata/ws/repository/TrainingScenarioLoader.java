@@ -0,0 +1,282 @@
+package fr.insee.sabianedata.ws.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.insee.sabianedata.ws.controller.exception.TrainingScenarioLoadingException;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveSurveyUnit;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.model.pearl.Assignment;
+import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
+import fr.insee.sabianedata.ws.model.pearl.PearlSurveyUnit;
+import fr.insee.sabianedata.ws.model.queen.NomenclatureDto;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+import fr.insee.sabianedata.ws.model.queen.QueenSurveyUnit;
+import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
+import fr.insee.sabianedata.ws.service.ExtractionService;
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build training scenarios from their folders : `info.json` plus one sub-folder per campaign, each holding a
+ * `pearl` and a `queen` workbook.
+ * <p>
+ * Only depends on the extraction pipeline, so that it can run inside the application as well as at build time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingScenarioLoader {
+
+	private final ExtractionService extractionService;
+	private final ExtractionCache extractionCache;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * Load scenario folders. Campaigns are independent from each other : they are all extracted concurrently
+	 * on a bounded pool, and reassembled in folder order so that loading stays deterministic.
+	 *
+	 * @param scenarioFolders scenario folders to load
+	 * @param threads         size of the extraction pool
+	 * @return loaded scenarios, in the order of the given folders
+	 * @throws IllegalStateException if any scenario couldn't be loaded, once every campaign has been processed
+	 */
+	public List<TrainingScenario> loadScenarios(List<Path> scenarioFolders, int threads) {
+		return loadScenarios(scenarioFolders, threads, ExtractedCampaigns.none());
+	}
+
+	/**
+	 * Load scenario folders, reusing already extracted campaigns whose folder didn't change
+	 *
+	 * @param scenarioFolders    scenario folders to load
+	 * @param threads            size of the extraction pool
+	 * @param extractedCampaigns campaigns already extracted, completed with the newly extracted ones
+	 * @return loaded scenarios, in the order of the given folders
+	 * @throws IllegalStateException if any scenario couldn't be loaded, once every campaign has been processed
+	 */
+	public List<TrainingScenario> loadScenarios(List<Path> scenarioFolders, int threads,
+			ExtractedCampaigns extractedCampaigns) {
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new CustomizableThreadFactory("scenario-loading-"));
+		try {
+			Map<Path, CompletableFuture<TrainingScenario>> pendingScenarios = new LinkedHashMap<>();
+			for (Path scenarioFolder : scenarioFolders) {
+				pendingScenarios.put(scenarioFolder, loadScenario(scenarioFolder, executor, extractedCampaigns));
+			}
+
+			List<TrainingScenario> scenarios = new ArrayList<>();
+			Map<String, Throwable> failedScenarios = new LinkedHashMap<>();
+			pendingScenarios.forEach((scenarioFolder, pendingScenario) -> {
+				try {
+					scenarios.add(pendingScenario.join());
+				} catch (CompletionException e) {
+					log.error("Couldn't load scenario {}", scenarioFolder.getFileName(), e.getCause());
+					failedScenarios.put(scenarioFolder.getFileName().toString(), e.getCause());
+				}
+			});
+			if (!failedScenarios.isEmpty()) {
+				IllegalStateException failure = new IllegalStateException(
+						String.format("Couldn't load scenarios %s", failedScenarios.keySet()));
+				failedScenarios.values().forEach(failure::addSuppressed);
+				throw failure;
+			}
+			return scenarios;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Read the description of a scenario (label and type), without its campaigns
+	 *
+	 * @param scenarioDirectory scenario folder
+	 * @return the scenario read from its `info.json`
+	 */
+	public TrainingScenario readScenarioInfo(Path scenarioDirectory) {
+		if (scenarioDirectory == null) {
+			throw new IllegalArgumentException("Scenario directory cannot be null");
+		}
+
+		Path infoFile = scenarioDirectory.resolve("info.json");
+		try (InputStream inputStream = Files.newInputStream(infoFile)) {
+			return objectMapper.readValue(inputStream, TrainingScenario.class);
+		} catch (IOException e) {
+			log.warn("Unable to load TrainingScenario from {}", infoFile, e);
+			throw new TrainingScenarioLoadingException("Unable to load TrainingScenario",e);
+		}
+	}
+
+	/**
+	 * Load a scenario folder, its campaigns being extracted concurrently on the given executor
+	 *
+	 * @param scenarioDirectory  scenario folder
+	 * @param executor           executor running campaign extractions
+	 * @param extractedCampaigns campaigns already extracted, completed with the newly extracted ones
+	 * @return the scenario, completed once all its campaigns are extracted
+	 */
+	public CompletableFuture<TrainingScenario> loadScenario(Path scenarioDirectory, Executor executor,
+			ExtractedCampaigns extractedCampaigns) {
+		TrainingScenario trainingScenario = readScenarioInfo(scenarioDirectory);
+		log.info("creating scenario from {}", scenarioDirectory.getFileName());
+
+		// for each Scenario sub-folder
+		List<Path> directories;
+		try (Stream<Path> paths = Files.list(scenarioDirectory)) {
+			directories = paths
+					.filter(Files::isDirectory)
+					.sorted(Comparator.comparing(path -> path.getFileName().toString()))
+					.toList();
+		} catch (IOException e) {
+			throw new TrainingScenarioLoadingException("Error when listing campaigns of scenario " + scenarioDirectory.toAbsolutePath(), e);
+		}
+
+		List<CompletableFuture<MassiveCampaign>> campaigns = directories.stream()
+				.map(directory -> CompletableFuture.supplyAsync(() -> extractedCampaigns.computeIfAbsent(directory,
+						campaignDirectory -> extractMassiveCampaign(scenarioDirectory, campaignDirectory)), executor))
+				.toList();
+
+		// campaigns are collected in directory order, whatever their completion order
+		return CompletableFuture.allOf(campaigns.toArray(CompletableFuture[]::new))
+				.thenApply(allDone -> {
+					trainingScenario.setCampaigns(campaigns.stream().map(CompletableFuture::join).toList());
+					return trainingScenario;
+				});
+	}
+
+	private MassiveCampaign extractMassiveCampaign(Path scenarioDirectory, Path campaignDirectory) {
+		try {
+			return extractionCache.computeIfAbsent(campaignDirectory, this::extractMassiveCampaign);
+		} catch (RuntimeException e) {
+			log.warn("Error when processing campaign {} of scenario {}", campaignDirectory.getFileName(),
+					scenarioDirectory.getFileName(), e);
+			throw new TrainingScenarioLoadingException("Error when processing campaign " + campaignDirectory.toAbsolutePath(), e);
+		}
+	}
+
+	public MassiveCampaign extractMassiveCampaign(Path campaignDirectory) {
+
+		// extract Pearl entities, parsing the workbook only once
+		Path pearlSourceFile = campaignDirectory.resolve("pearl").resolve("pearl_campaign.fods");
+		FodsWorkbook pearlWorkbook = parsePearlWorkbook(pearlSourceFile);
+		PearlCampaign pearlCampaign = extractPearlCampaign(pearlWorkbook);
+		List<PearlSurveyUnit> pearlSurveyUnits = extractPearlSurveyUnits(pearlWorkbook);
+		List<Assignment> assignments = extractAssignments(pearlWorkbook);
+
+		// extract Queen entities, parsing the workbook only once
+		Path queenFolder = campaignDirectory.resolve("queen");
+		Path queenSourceFile = queenFolder.resolve("queen_campaign.fods");
+		FodsWorkbook queenWorkbook = parseQueenWorkbook(queenSourceFile);
+		QueenCampaign queenCampaign = extractQueenCampaign(queenFolder, queenWorkbook);
+		List<QueenSurveyUnit> queenSurveyUnits = extractQueenSurveyUnits(queenFolder, queenWorkbook);
+
+		// merge pearl and queen into MassiveSurveyUnits
+		List<MassiveSurveyUnit> surveyUnits = mergePearlAndQueenSurveyUnits(pearlSurveyUnits, queenSurveyUnits);
+
+		// wrap pearl and queen campaign together for easier id handling
+		return new MassiveCampaign(pearlCampaign, queenCampaign, surveyUnits, assignments);
+
+	}
+
+
+	private FodsWorkbook parsePearlWorkbook(Path pearlSourceFile) {
+		try {
+			return extractionService.parsePearlWorkbook(pearlSourceFile);
+		} catch (Exception e) {
+			log.warn("Error when parsing {}", pearlSourceFile.toAbsolutePath(), e);
+			throw new TrainingScenarioLoadingException("Pearl workbook parsing failed", e);
+		}
+	}
+
+	private FodsWorkbook parseQueenWorkbook(Path queenSourceFile) {
+		try {
+			return extractionService.parseQueenWorkbook(queenSourceFile);
+		} catch (Exception e) {
+			log.warn("Error when parsing {}", queenSourceFile.toAbsolutePath(), e);
+			throw new TrainingScenarioLoadingException("Queen workbook parsing failed", e);
+		}
+	}
+
+	private PearlCampaign extractPearlCampaign(FodsWorkbook pearlSourceFile) {
+		try {
+			return extractionService.extractPearlCampaign(pearlSourceFile);
+		} catch (Exception e) {
+			log.warn("Error when extracting campaign from {}", pearlSourceFile.file().toAbsolutePath(), e);
+			throw new TrainingScenarioLoadingException("Campaign extraction failed", e);
+		}
+	}
+
+	private List<PearlSurveyUnit> extractPearlSurveyUnits(FodsWorkbook pearlFodsInput) {
+		try {
+			return extractionService.extractPearlSurveyUnits(pearlFodsInput);
+		} catch (Exception e) {
+			log.error("Error with SU extraction in {}", pearlFodsInput.file().toAbsolutePath());
+			throw new TrainingScenarioLoadingException("Pearl survey-units extraction failed", e);
+		}
+	}
+
+	private List<Assignment> extractAssignments(FodsWorkbook pearlFodsInput) {
+		try {
+			return extractionService.extractAssignments(pearlFodsInput);
+		} catch (Exception e) {
+			throw new TrainingScenarioLoadingException("Pearl assignments extraction failed", e);
+		}
+	}
+
+
+	private QueenCampaign extractQueenCampaign(Path queenFolder, FodsWorkbook queenSourceFile) {
+		try {
+			QueenCampaign queenCampaign = extractionService.extractQueenCampaign(queenSourceFile);
+			List<QuestionnaireModelDto> questionnaireModels = extractionService
+					.extractQuestionnaires(queenSourceFile, queenFolder);
+			queenCampaign.setQuestionnaireModels(questionnaireModels);
+			List<NomenclatureDto> nomenclatures = extractionService
+					.extractNomenclatures(queenSourceFile, queenFolder);
+			queenCampaign.setNomenclatures(nomenclatures);
+			return queenCampaign;
+		} catch (Exception e) {
+			log.warn("Error when extracting queen campaign from {}", queenFolder.toAbsolutePath());
+			throw new TrainingScenarioLoadingException("Queen Campaign extraction failed", e);
+		}
+	}
+
+	private List<QueenSurveyUnit> extractQueenSurveyUnits(Path queenFolder, FodsWorkbook queenSourceFile) {
+		try {
+			return extractionService.extractQueenSurveyUnits(queenSourceFile,
+					queenFolder);
+		} catch (Exception e) {
+			throw new TrainingScenarioLoadingException("Queen survey-units extraction failed", e);
+		}
+
+	}
+
+	private List<MassiveSurveyUnit> mergePearlAndQueenSurveyUnits(List<PearlSurveyUnit> pearlUnits,
+																  List<QueenSurveyUnit> queenUnits) {
+		// Create a map of QueenSurveyUnit by their id for quick lookup
+		Map<String, QueenSurveyUnit> queenUnitMap = queenUnits.stream()
+				.collect(Collectors.toMap(QueenSurveyUnit::getId, queenSu -> queenSu));
+
+		// Map each PearlSurveyUnit to a MassiveSurveyUnit by finding the matching QueenSurveyUnit by id
+		return pearlUnits.stream()
+				.map(pearlSu -> {
+					QueenSurveyUnit queenSu = queenUnitMap.get(pearlSu.getDisplayName());
+					return new MassiveSurveyUnit(pearlSu.getId(), pearlSu, queenSu); // Create MassiveSurveyUnit
+				})
+				.toList();
+
+	}
+}
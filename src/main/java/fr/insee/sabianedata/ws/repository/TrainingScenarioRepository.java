@@ -1,7 +1,13 @@
 package fr.insee.sabianedata.ws.repository;
 
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioLoadingStatus;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
 import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,7 +15,36 @@ public interface TrainingScenarioRepository {
 
     Optional<TrainingScenario> getTrainingScenarioById(String trainingScenarioId) ;
 
-    List<TrainingScenario> getTrainingScenarioIdsAndType();
+    /**
+     * @return the scenarios available for generation, built again only once they changed
+     */
+    ScenarioListing getScenarioListing();
+
+    ScenarioLoadingStatus getLoadingStatus();
+
+    /**
+     * @return broken references of the loaded scenarios, empty for valid ones
+     */
+    List<ScenarioValidationReport> getValidationReports();
+
+    /**
+     * @param trainingScenarioId label of a loaded scenario
+     * @return broken references of the scenario, empty if it isn't loaded yet
+     */
+    Optional<ScenarioValidationReport> getValidationReport(String trainingScenarioId);
+
+    /**
+     * @return estimated heap of the scenarios currently in memory, before and after their compaction
+     */
+    List<ScenarioHeapReport> getHeapReports();
+
+    /**
+     * Register a scenario loaded at runtime, replacing any scenario with the same label
+     *
+     * @param scenario       loaded scenario
+     * @param scenarioFolder folder the scenario was loaded from, moved along with the other scenarios
+     */
+    void registerScenario(TrainingScenario scenario, Path scenarioFolder) throws IOException;
 
 }
 
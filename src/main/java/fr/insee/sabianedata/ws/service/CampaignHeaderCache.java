@@ -0,0 +1,126 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
+import fr.insee.sabianedata.ws.model.massive_attack.CampaignHeader;
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioType;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Campaign headers of the recent training courses, from the least to the most recently used.
+ * <p>
+ * Trainers launch the same scenario for the same organisation unit and reference date in waves of trainees : the
+ * header of each campaign is built by the first wave, the next ones only generating their survey units. Headers are
+ * keyed by their template campaign instance, so that a reloaded scenario never gets the headers of its previous
+ * version. Templates are only weakly referenced : headers never keep an evicted or reloaded scenario in memory, and
+ * they are forgotten along with their scenario.
+ */
+@Slf4j
+@Component
+public class CampaignHeaderCache {
+
+    // 0 when headers are built by each training course
+    private final int maxSize;
+    private final LinkedHashMap<Key, CampaignHeader> headers;
+
+    public CampaignHeaderCache(GenerationProperties generationProperties) {
+        this.maxSize = generationProperties.campaignHeaderCacheSize();
+        this.headers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CampaignHeader> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param template      template campaign of a loaded scenario
+     * @param type          type of the scenario
+     * @param configuration configuration of the training course, whose trainees are not part of the header
+     * @param builder       builds the header, outside of any lock, when it isn't cached
+     * @return the header of the campaign, shared by the training courses of the same configuration
+     */
+    public CampaignHeader get(MassiveCampaign template, ScenarioType type, TrainingConfiguration configuration,
+                              Supplier<CampaignHeader> builder) {
+        if (maxSize == 0) {
+            return builder.get();
+        }
+        Key key = new Key(template, type, configuration.organisationUnitId(), configuration.referenceDate(),
+                configuration.campaignLabel(), configuration.scenarioLabel());
+        synchronized (headers) {
+            CampaignHeader header = headers.get(key);
+            if (header != null) {
+                log.debug("Campaign header of {} reused", header.pearlCampaign().getCampaign());
+                return header;
+            }
+        }
+        CampaignHeader header = builder.get();
+        // built concurrently : the first header cached is the one shared
+        synchronized (headers) {
+            CampaignHeader cachedHeader = headers.putIfAbsent(key, header);
+            return cachedHeader != null ? cachedHeader : header;
+        }
+    }
+
+    /**
+     * Forget the headers of a scenario, when it is evicted from memory
+     *
+     * @param scenarioLabel label of the scenario
+     */
+    public void forget(String scenarioLabel) {
+        synchronized (headers) {
+            headers.keySet().removeIf(key -> scenarioLabel.equals(key.scenarioLabel()));
+        }
+    }
+
+    /**
+     * Forget every header, when scenarios are reloaded
+     */
+    public void clear() {
+        synchronized (headers) {
+            headers.clear();
+        }
+    }
+
+    // the template is weakly referenced, and compared by identity : a collected template matches no key
+    private record Key(TemplateReference template, ScenarioType type, String organisationUnitId, Long referenceDate,
+                       String campaignLabel, String scenarioLabel) {
+
+        private Key(MassiveCampaign template, ScenarioType type, String organisationUnitId, Long referenceDate,
+                    String campaignLabel, String scenarioLabel) {
+            this(new TemplateReference(template), type, organisationUnitId, referenceDate, campaignLabel,
+                    scenarioLabel);
+        }
+    }
+
+    private static final class TemplateReference extends WeakReference<MassiveCampaign> {
+
+        private final int hashCode;
+
+        private TemplateReference(MassiveCampaign template) {
+            super(template);
+            this.hashCode = System.identityHashCode(template);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            MassiveCampaign template = get();
+            return o instanceof TemplateReference other && template != null && template == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -34,12 +34,48 @@ public class ExternalApiService {
 		return pearlSuccess && queenSuccess ? trainingCourse : null;
 	}
 
+	/**
+	 * Post a training course whose survey units are generated while being posted : campaigns first, then survey
+	 * units and their assignments chunk by chunk, the next chunk being generated while the current one is posted.
+	 * Posting stops at the first chunk which couldn't be generated or posted.
+	 *
+	 * @param trainingCourse survey unit chunks of the training course
+	 * @return the campaign of the training course, without its survey units, null when posting failed
+	 */
+	public MassiveCampaign postTrainingCourse(SurveyUnitChunks trainingCourse) {
+		MassiveCampaign campaign = trainingCourse.campaign();
+		// the first chunk is generated while campaigns are posted
+		trainingCourse.start();
+		boolean campaignSuccess = postPearlCampaign(campaign) & postQueenCampaign(campaign);
+		boolean surveyUnitSuccess = campaignSuccess;
+		int postedSurveyUnits = 0;
+		try {
+			while (surveyUnitSuccess && trainingCourse.hasNext()) {
+				MassiveCampaign chunk = trainingCourse.next();
+				surveyUnitSuccess = postPearlSurveyUnits(chunk) & postQueenSurveyUnits(chunk);
+				postedSurveyUnits += chunk.getSurveyUnits().size();
+			}
+		} catch (RuntimeException e) {
+			log.error("Error during generation of surveyUnits of campaign : {}", campaign.getId(), e);
+			surveyUnitSuccess = false;
+		}
+		log.info("Campaign {} : {} survey-units posted, success : {}", campaign.getId(), postedSurveyUnits,
+				surveyUnitSuccess);
+		return surveyUnitSuccess ? campaign : null;
+	}
+
 	private boolean postTrainingCourseToManagementApi(MassiveCampaign trainingCourse) {
-		boolean pearlCampaignSuccess = runWithErrorLogging(
+		return postPearlCampaign(trainingCourse) & postPearlSurveyUnits(trainingCourse);
+	}
+
+	private boolean postPearlCampaign(MassiveCampaign trainingCourse) {
+		return runWithErrorLogging(
 				() -> pearlApiService.postCampaignToApi(trainingCourse.getPearlCampaign()),
 				String.format("Error during creation campaign : %s", trainingCourse.getId())
 		);
+	}
 
+	private boolean postPearlSurveyUnits(MassiveCampaign trainingCourse) {
 		List<PearlSurveyUnit> pearlSurveyUnitsToPost =
 				trainingCourse.getSurveyUnits().stream().map(MassiveSurveyUnit::getPearlSurveyUnit).toList();
 		boolean pearlSurveyUnitSuccess = runWithErrorLogging(
@@ -52,13 +88,16 @@ public class ExternalApiService {
 				"Error during creation of assignments"
 		);
 
-		log.info("Campaign: {}, SurveyUnits: {}, Assignments: {}", pearlCampaignSuccess, pearlSurveyUnitSuccess,
-				assignmentSuccess);
-		return pearlCampaignSuccess && pearlSurveyUnitSuccess && assignmentSuccess;
+		log.info("SurveyUnits: {}, Assignments: {}", pearlSurveyUnitSuccess, assignmentSuccess);
+		return pearlSurveyUnitSuccess && assignmentSuccess;
 
 	}
 
 	private boolean postTrainingCourseToQuestionnaireApi(MassiveCampaign trainingCourse) {
+		return postQueenCampaign(trainingCourse) & postQueenSurveyUnits(trainingCourse);
+	}
+
+	private boolean postQueenCampaign(MassiveCampaign trainingCourse) {
 		// extract main thread context for parallel stream usage
 		var securityContext = SecurityContextHolder.getContext();
 
@@ -91,6 +130,22 @@ public class ExternalApiService {
 				String.format("Error during creation campaign : %s", trainingCourse.getId())
 		);
 
+		log.info("Nomenclatures: {}/{} , Questionnaires: {}/{} , Campaign: {}",
+				createdNomenclatures,
+				trainingCourse.getQueenCampaign().getNomenclatures().size(),
+				createdQuestionnaires,
+				trainingCourse.getQueenCampaign().getQuestionnaireModels().size(),
+				queenCampaignSuccess
+		);
+
+
+		return queenCampaignSuccess && createdNomenclatures == trainingCourse.getQueenCampaign().getNomenclatures().size()
+				&& createdQuestionnaires == trainingCourse.getQueenCampaign().getQuestionnaireModels().size();
+	}
+
+	private boolean postQueenSurveyUnits(MassiveCampaign trainingCourse) {
+		// extract main thread context for parallel stream usage
+		var securityContext = SecurityContextHolder.getContext();
 
 		List<QueenSurveyUnit> queenSurveyUnitsToPost =
 				trainingCourse.getSurveyUnits().stream().map(MassiveSurveyUnit::getQueenSurveyUnit).toList();
@@ -105,20 +160,8 @@ public class ExternalApiService {
 				))
 				.count();
 
-		log.info("Nomenclatures: {}/{} , Questionnaires: {}/{} , SurveyUnits: {}/{} , Campaign: {}",
-				createdNomenclatures,
-				trainingCourse.getQueenCampaign().getNomenclatures().size(),
-				createdQuestionnaires,
-				trainingCourse.getQueenCampaign().getQuestionnaireModels().size(),
-				createdQueenSurveyUnits,
-				queenSurveyUnitsToPost.size(),
-				queenCampaignSuccess
-		);
-
-
-		return queenCampaignSuccess && createdNomenclatures == trainingCourse.getQueenCampaign().getNomenclatures().size()
-				&& createdQuestionnaires == trainingCourse.getQueenCampaign().getQuestionnaireModels().size()
-				&& createdQueenSurveyUnits == queenSurveyUnitsToPost.size();
+		log.info("SurveyUnits: {}/{}", createdQueenSurveyUnits, queenSurveyUnitsToPost.size());
+		return createdQueenSurveyUnits == queenSurveyUnitsToPost.size();
 	}
 
 
@@ -10,7 +10,6 @@ import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -20,36 +19,50 @@ public class ExtractionService {
     private final QueenExtractEntities queenExtractEntities;
     private final PearlExtractEntities pearlExtractEntities;
 
-    public QueenCampaign extractQueenCampaign(File queenFodsInput) throws Exception {
+    /**
+     * Parse a Queen FODS workbook once : every Queen extraction is then applied to the same tree
+     */
+    public FodsWorkbook parseQueenWorkbook(Path queenFodsInput) throws Exception {
+        return queenExtractEntities.readFods(queenFodsInput);
+    }
+
+    /**
+     * Parse a Pearl FODS workbook once : every Pearl extraction is then applied to the same tree
+     */
+    public FodsWorkbook parsePearlWorkbook(Path pearlFodsInput) throws Exception {
+        return pearlExtractEntities.readFods(pearlFodsInput);
+    }
+
+    public QueenCampaign extractQueenCampaign(FodsWorkbook queenFodsInput) throws Exception {
         return queenExtractEntities.getQueenCampaignFromFods(queenFodsInput);
     }
 
-    public List<QuestionnaireModelDto> extractQuestionnaires(File queenFodsInput, Path queenFolder) throws Exception {
+    public List<QuestionnaireModelDto> extractQuestionnaires(FodsWorkbook queenFodsInput, Path queenFolder) throws Exception {
         return queenExtractEntities
                 .getQueenQuestionnaireModelsDtoFromFods(queenFodsInput, queenFolder);
     }
 
-    public List<NomenclatureDto> extractNomenclatures(File queenFodsInput, Path queenFolder) throws Exception {
+    public List<NomenclatureDto> extractNomenclatures(FodsWorkbook queenFodsInput, Path queenFolder) throws Exception {
         return queenExtractEntities
                 .getQueenNomenclaturesDtoFromFods(queenFodsInput, queenFolder);
     }
 
-    public List<QueenSurveyUnit> extractQueenSurveyUnits(File queenFodsInput, Path queenFolder) throws Exception {
+    public List<QueenSurveyUnit> extractQueenSurveyUnits(FodsWorkbook queenFodsInput, Path queenFolder) throws Exception {
         return queenExtractEntities.getQueenSurveyUnitsFromFods(queenFodsInput,
                 queenFolder);
     }
 
-    public PearlCampaign extractPearlCampaign(File pearlFodsInput) throws Exception {
+    public PearlCampaign extractPearlCampaign(FodsWorkbook pearlFodsInput) throws Exception {
         return pearlExtractEntities
                 .getPearlCampaignFromFods(pearlFodsInput);
     }
 
-    public List<PearlSurveyUnit> extractPearlSurveyUnits(File pearlFodsInput) throws Exception {
+    public List<PearlSurveyUnit> extractPearlSurveyUnits(FodsWorkbook pearlFodsInput) throws Exception {
         return pearlExtractEntities
                 .getPearlSurveyUnitsFromFods(pearlFodsInput);
     }
 
-    public List<Assignment> extractAssignments(File pearlFodsInput) throws Exception {
+    public List<Assignment> extractAssignments(FodsWorkbook pearlFodsInput) throws Exception {
         return pearlExtractEntities.getAssignementsFromFods(pearlFodsInput);
     }
 
@@ -0,0 +1,14 @@
+package fr.insee.sabianedata.ws.service;
+
+import java.nio.file.Path;
+
+/**
+ * A FODS workbook read once by an extraction engine, so that every entity can be extracted from it
+ */
+public interface FodsWorkbook {
+
+    /**
+     * @return source file of the workbook
+     */
+    Path file();
+}
@@ -0,0 +1,143 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Generate training courses on a fork-join pool of their own, rather than on the request thread.
+ * <p>
+ * The campaigns of a training course are generated concurrently, and the survey units of a campaign (one copy per
+ * trainee and template survey unit) are split in contiguous blocks, forked until they reach the block size. Each
+ * block writes its own slots of the result : the order is the one of a sequential generation, whatever the
+ * scheduling. A campaign waiting for its blocks helps running them, so nested generations never starve the pool.
+ */
+@Component
+public class GenerationPool {
+
+    private final int blockSize;
+    // null when training courses are generated on the calling thread
+    private final ForkJoinPool pool;
+
+    public GenerationPool(GenerationProperties generationProperties) {
+        this.blockSize = generationProperties.surveyUnitBlockSize();
+        if (generationProperties.threads() > 1) {
+            ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("training-course-generation-" + thread.getPoolIndex());
+                return thread;
+            };
+            this.pool = new ForkJoinPool(generationProperties.threads(), threadFactory, null, false);
+        } else {
+            this.pool = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @param items  campaigns of a training course
+     * @param mapper stateless generation, applied concurrently to each item
+     * @return generated items, in the order of the given ones
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> mapper) {
+        if (pool == null || items.size() < 2) {
+            return items.stream().map(mapper).toList();
+        }
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(items.size());
+        for (T item : items) {
+            tasks.add(pool.submit(() -> mapper.apply(item)));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(task.join());
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * @param generation stateless generation, which may itself generate items on the pool
+     * @return the generation, run in the background unless training courses are generated on the calling thread
+     */
+    public <R> CompletableFuture<R> supply(Supplier<R> generation) {
+        if (pool == null) {
+            try {
+                return CompletableFuture.completedFuture(generation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(generation, pool);
+    }
+
+    /**
+     * @param size      number of items to generate
+     * @param generator stateless generation of the item of an index, applied concurrently to distinct blocks
+     * @return generated items, by index
+     */
+    public <R> List<R> generate(int size, IntFunction<R> generator) {
+        if (pool == null || size <= blockSize) {
+            List<R> results = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                results.add(generator.apply(index));
+            }
+            return Collections.unmodifiableList(results);
+        }
+        Object[] results = new Object[size];
+        Block block = new Block(results, generator, 0, size);
+        // a campaign generated on the pool forks its blocks there, a request thread hands them over
+        if (ForkJoinTask.getPool() == pool) {
+            block.invoke();
+        } else {
+            pool.invoke(block);
+        }
+        @SuppressWarnings("unchecked")
+        List<R> generated = (List<R>) Collections.unmodifiableList(Arrays.asList(results));
+        return generated;
+    }
+
+    private final class Block extends RecursiveAction {
+
+        private final Object[] results;
+        private final IntFunction<?> generator;
+        private final int from;
+        private final int to;
+
+        private Block(Object[] results, IntFunction<?> generator, int from, int to) {
+            this.results = results;
+            this.generator = generator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= blockSize) {
+                for (int index = from; index < to; index++) {
+                    results[index] = generator.apply(index);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Block(results, generator, from, middle), new Block(results, generator, middle, to));
+        }
+    }
+}
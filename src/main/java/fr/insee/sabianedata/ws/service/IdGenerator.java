@@ -0,0 +1,16 @@
+package fr.insee.sabianedata.ws.service;
+
+/**
+ * Identifiers of the generated survey units, shared by their Pearl and Queen survey units.
+ * <p>
+ * Survey units are generated concurrently : implementations are called from many threads at once.
+ */
+public interface IdGenerator {
+
+    /**
+     * @param campaignId id of the generated campaign
+     * @param index      index of the survey unit among the ones generated for the campaign
+     * @return a new survey-unit id
+     */
+    String newSurveyUnitId(String campaignId, int index);
+}
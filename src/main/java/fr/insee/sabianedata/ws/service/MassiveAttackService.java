@@ -1,8 +1,11 @@
 package fr.insee.sabianedata.ws.service;
 
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
 import fr.insee.sabianedata.ws.model.ResponseModel;
 import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
 import fr.insee.sabianedata.ws.model.massive_attack.ScenarioType;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
 import fr.insee.sabianedata.ws.model.massive_attack.TrainingConfiguration;
 import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +27,7 @@ public class MassiveAttackService {
 	private final ExternalApiService externalApiService;
 	private final TrainingCourseService trainingCourseService;
 	private final TrainingScenarioService trainingScenarioService;
+	private final GenerationProperties generationProperties;
 
 	private void rollBackOnFail(List<String> ids) {
 		log.warn("Roll back : DELETE following campaigns {}", ids);
@@ -35,7 +39,7 @@ public class MassiveAttackService {
 		return externalApiService.deleteCampaign(encodedId);
 	}
 
-	public List<TrainingScenario> getTrainingScenariosTitles() {
+	public ScenarioListing getTrainingScenariosTitles() {
 		return trainingScenarioService.getAllTrainingScenarioTitles();
 	}
 
@@ -58,6 +62,12 @@ public class MassiveAttackService {
 			return new ResponseModel(false, String.format("Scenario %s is not present", scenarioId));
 		}
 		TrainingScenario scenario = scenarioOpt.get();
+		// no training course is generated from an invalid scenario : it would fail once partly posted
+		Optional<ScenarioValidationReport> validationReport = trainingScenarioService.getValidationReport(scenarioId);
+		if (validationReport.isPresent() && !validationReport.get().isValid()) {
+			return new ResponseModel(false, String.format("Scenario %s is invalid : %s", scenarioId,
+					validationReport.get().violations()));
+		}
 		ScenarioType scenarioType = scenario.getType();
 
 		if (scenarioType == ScenarioType.INTERVIEWER && !externalApiService.checkInterviewers(trainees)) {
@@ -70,6 +80,10 @@ public class MassiveAttackService {
 		TrainingConfiguration trainingConfiguration = new TrainingConfiguration(scenarioLabel, organisationUnitId,
 				referenceDate, trainees, scenario.getLabel());
 
+		if (generationProperties.isPipelineEnabled()) {
+			return generateAndPostTrainingCourse(scenario, trainingConfiguration);
+		}
+
 		List<MassiveCampaign> trainingCourse = trainingCourseService.generateTrainingCourse(scenario,
 				trainingConfiguration);
 
@@ -90,5 +104,31 @@ public class MassiveAttackService {
 		return new ResponseModel(true, "Training scenario generated");
 	}
 
+	// survey units are posted chunk by chunk while being generated, rather than all generated before being posted
+	private ResponseModel generateAndPostTrainingCourse(TrainingScenario scenario,
+														TrainingConfiguration trainingConfiguration) {
+		List<SurveyUnitChunks> trainingCourse = trainingCourseService.streamTrainingCourse(scenario,
+				trainingConfiguration, generationProperties.pipelineChunkSize());
+
+		if (trainingCourse.contains(null)) {
+			trainingCourse.stream().filter(Objects::nonNull).forEach(SurveyUnitChunks::close);
+			rollBackOnFail(trainingCourse.stream().filter(Objects::nonNull).map(chunks -> chunks.campaign().getId())
+					.toList());
+			return new ResponseModel(false, "Error when loading campaigns");
+		}
+
+		boolean success = trainingCourse.stream()
+				.map(externalApiService::postTrainingCourse).noneMatch(Objects::isNull);
+
+		if (!success) {
+			// stop generating the chunks of the failed campaign and of the campaigns left
+			trainingCourse.forEach(SurveyUnitChunks::close);
+			rollBackOnFail(trainingCourse.stream().map(chunks -> chunks.campaign().getId())
+					.toList());
+			return new ResponseModel(false, "Error when posting campaigns");
+		}
+		return new ResponseModel(true, "Training scenario generated");
+	}
+
 
 }
\ No newline at end of file
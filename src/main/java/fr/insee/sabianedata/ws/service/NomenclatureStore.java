@@ -0,0 +1,132 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.ApplicationProperties;
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
+import fr.insee.sabianedata.ws.model.queen.RawJson;
+import fr.insee.sabianedata.ws.utils.JsonAssetStore;
+import fr.insee.sabianedata.ws.utils.JsonFileToJsonNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * Nomenclature documents, kept on disk beyond a size threshold.
+ * <p>
+ * Large nomenclatures are validated and compacted once, into a file of the temp folder named after the checksum of
+ * its content : nomenclatures of the same content share their file. Only a handle on the file is then held in
+ * memory. Smaller nomenclatures are kept in memory, like questionnaire models.
+ */
+@Slf4j
+@Component
+public class NomenclatureStore {
+
+    private static final String NOMENCLATURES = "nomenclatures";
+
+    // 0 when every nomenclature is kept in memory
+    private final long thresholdBytes;
+    private final Path folder;
+
+    public NomenclatureStore(ScenarioProperties scenarioProperties, ApplicationProperties applicationProperties) {
+        if (scenarioProperties.isNomenclatureDiskThresholdEnabled()) {
+            this.thresholdBytes = scenarioProperties.nomenclatureDiskThreshold().toBytes();
+            this.folder = Path.of(applicationProperties.tempFolder(), NOMENCLATURES);
+        } else {
+            this.thresholdBytes = 0;
+            this.folder = null;
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (folder == null || !Files.isDirectory(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Couldn't delete nomenclatures kept on disk in {}", folder, e);
+        }
+    }
+
+    /**
+     * @param file nomenclature JSON file
+     * @return the nomenclature, on disk if larger than the threshold, null if it couldn't be read
+     */
+    public RawJson read(Path file) {
+        try {
+            if (!isKeptOnDisk(Files.size(file))) {
+                return JsonFileToJsonNode.getRawJsonFromFile(file);
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                return write(inputStream);
+            }
+        } catch (IOException e) {
+            log.error("Problem with file {}", file);
+            log.error("Something went wrong when keeping nomenclature on disk", e);
+            return null;
+        }
+    }
+
+    /**
+     * Move a nomenclature read in memory (i.e. from the snapshot) to disk, if larger than the threshold
+     *
+     * @param nomenclature nomenclature document
+     * @return the nomenclature on disk, or the given one when kept in memory
+     */
+    public RawJson keepOnDisk(RawJson nomenclature) {
+        if (nomenclature == null || nomenclature.isOnDisk() || !isKeptOnDisk(nomenclature.length())) {
+            return nomenclature;
+        }
+        try (InputStream inputStream = nomenclature.openStream()) {
+            return write(inputStream);
+        } catch (IOException e) {
+            log.warn("Couldn't keep nomenclature on disk, it stays in memory", e);
+            return nomenclature;
+        }
+    }
+
+    private boolean isKeptOnDisk(long length) {
+        return thresholdBytes > 0 && length > thresholdBytes;
+    }
+
+    // written under a temporary name, then renamed after its checksum : readers only ever see complete files
+    private RawJson write(InputStream inputStream) throws IOException {
+        Files.createDirectories(folder);
+        Path writing = Files.createTempFile(folder, NOMENCLATURES, ".tmp");
+        MessageDigest digest = newDigest();
+        try (OutputStream outputStream = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(writing)), digest)) {
+            JsonAssetStore.compact(inputStream, outputStream);
+        } catch (IOException e) {
+            Files.deleteIfExists(writing);
+            throw e;
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        Path file = folder.resolve(checksum + ".json");
+        Files.move(writing, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return RawJson.onDisk(file, Files.size(file), checksum);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.model.pearl.Assignements;
+import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
+import fr.insee.sabianedata.ws.model.pearl.PearlSurveyUnits;
+
+import java.nio.file.Path;
+
+/**
+ * Extraction engine reading the raw Pearl entities of a FODS workbook, before any post-processing
+ */
+public interface PearlEntityReader {
+
+    FodsWorkbook parseWorkbook(Path fods) throws Exception;
+
+    PearlCampaign readCampaign(FodsWorkbook workbook) throws Exception;
+
+    PearlSurveyUnits readSurveyUnits(FodsWorkbook workbook) throws Exception;
+
+    Assignements readAssignments(FodsWorkbook workbook) throws Exception;
+}
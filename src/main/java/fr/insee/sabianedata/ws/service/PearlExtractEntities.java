@@ -1,11 +1,10 @@
 package fr.insee.sabianedata.ws.service;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import fr.insee.sabianedata.ws.model.pearl.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,12 +12,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PearlExtractEntities {
 
-    private final PearlTransformService pearlTransformService;
+    private final PearlEntityReader pearlEntityReader;
 
-    public List<PearlSurveyUnit> getPearlSurveyUnitsFromFods(File fods) throws Exception {
-        File file = pearlTransformService.getPearlSurveyUnits(fods);
-        XmlMapper xmlMapper = new XmlMapper();
-        PearlSurveyUnits pearlSurveyUnits = xmlMapper.readValue(file, PearlSurveyUnits.class);
+    public FodsWorkbook readFods(Path fods) throws Exception {
+        return pearlEntityReader.parseWorkbook(fods);
+    }
+
+    public List<PearlSurveyUnit> getPearlSurveyUnitsFromFods(FodsWorkbook fods) throws Exception {
+        PearlSurveyUnits pearlSurveyUnits = pearlEntityReader.readSurveyUnits(fods);
         return pearlSurveyUnits.getSurveyUnits() == null ? new ArrayList<>() :
                 pearlSurveyUnits.getSurveyUnits().stream().map(surveyUnit -> {
                     surveyUnit.cleanAttributes();
@@ -26,20 +27,16 @@ public class PearlExtractEntities {
                 }).toList();
     }
 
-    public PearlCampaign getPearlCampaignFromFods(File fods) throws Exception {
-        File file = pearlTransformService.getPearlCampaign(fods);
-        XmlMapper xmlMapper = new XmlMapper();
-        PearlCampaign pearlCampaign = xmlMapper.readValue(file, PearlCampaign.class);
+    public PearlCampaign getPearlCampaignFromFods(FodsWorkbook fods) throws Exception {
+        PearlCampaign pearlCampaign = pearlEntityReader.readCampaign(fods);
         List<Visibility> visibilities = pearlCampaign.getVisibilities();
         List<Visibility> newVisibilities = visibilities.stream().map(Visibility::new).toList();
         pearlCampaign.setVisibilities(newVisibilities);
         return pearlCampaign;
     }
 
-    public List<Assignment> getAssignementsFromFods(File fods) throws Exception {
-        File file = pearlTransformService.getPearlAssignement(fods);
-        XmlMapper xmlMapper = new XmlMapper();
-        Assignements assignementList = xmlMapper.readValue(file, Assignements.class);
+    public List<Assignment> getAssignementsFromFods(FodsWorkbook fods) throws Exception {
+        Assignements assignementList = pearlEntityReader.readAssignments(fods);
         return assignementList.getAssignments() != null ? assignementList.getAssignments() : new ArrayList<>();
     }
 
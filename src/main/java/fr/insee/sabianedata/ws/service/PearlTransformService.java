@@ -1,10 +1,12 @@
 package fr.insee.sabianedata.ws.service;
 
+import fr.insee.sabianedata.ws.service.xsl.XslWorkbook;
 import fr.insee.sabianedata.ws.service.xsl.PearlCampaignTransformer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import javax.xml.transform.Source;
+import java.nio.file.Path;
 
 @Service
 @RequiredArgsConstructor
@@ -12,16 +14,20 @@ public class PearlTransformService {
 
     private final PearlCampaignTransformer pearlCampaignTransformer;
 
-    public File getPearlCampaign(File fodsInput) throws Exception {
+    public XslWorkbook parseWorkbook(Path fodsInput) throws Exception {
+        return pearlCampaignTransformer.parse(fodsInput);
+    }
+
+    public Source getPearlCampaign(XslWorkbook fodsInput) throws Exception {
         return pearlCampaignTransformer.extractCampaign(fodsInput);
     }
 
-    public File getPearlSurveyUnits(File fodsInput) throws Exception {
+    public Source getPearlSurveyUnits(XslWorkbook fodsInput) throws Exception {
         return pearlCampaignTransformer.extractSurveyUnits(fodsInput);
     }
 
 
-    public File getPearlAssignement(File fodsInput) throws Exception {
+    public Source getPearlAssignement(XslWorkbook fodsInput) throws Exception {
         return pearlCampaignTransformer.extractAssignement(fodsInput);
     }
 
@@ -42,6 +42,7 @@ public class QueenApiService {
 		log.info("Create nomenclature {}", nomenclatureDto.getId());
 		final String apiUri = String.join("/", applicationProperties.questionnaireUrl(), "api/nomenclature");
 		log.info("Calling {}", apiUri);
+		// a nomenclature kept on disk is copied from its file as the body is written
 		return restTemplate.exchange(apiUri, HttpMethod.POST, new HttpEntity<>(nomenclatureDto),
 				String.class);
 	}
@@ -0,0 +1,24 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.model.queen.NomenclaturesList;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelsList;
+import fr.insee.sabianedata.ws.model.queen.SurveyUnitsList;
+
+import java.nio.file.Path;
+
+/**
+ * Extraction engine reading the raw Queen entities of a FODS workbook, before any post-processing
+ */
+public interface QueenEntityReader {
+
+    FodsWorkbook parseWorkbook(Path fods) throws Exception;
+
+    QueenCampaign readCampaign(FodsWorkbook workbook) throws Exception;
+
+    SurveyUnitsList readSurveyUnits(FodsWorkbook workbook) throws Exception;
+
+    QuestionnaireModelsList readQuestionnaireModels(FodsWorkbook workbook) throws Exception;
+
+    NomenclaturesList readNomenclatures(FodsWorkbook workbook) throws Exception;
+}
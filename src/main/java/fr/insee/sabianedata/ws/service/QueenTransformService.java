@@ -1,9 +1,11 @@
 package fr.insee.sabianedata.ws.service;
 
-import java.io.File;
+import javax.xml.transform.Source;
+import java.nio.file.Path;
 
 import org.springframework.stereotype.Service;
 
+import fr.insee.sabianedata.ws.service.xsl.XslWorkbook;
 import fr.insee.sabianedata.ws.service.xsl.QueenCampaignTransformer;
 
 @Service
@@ -11,19 +13,23 @@ public class QueenTransformService {
 
 	private final QueenCampaignTransformer queenCampaignTransformer = new QueenCampaignTransformer();
 
-	public File getQueenCampaign(File fodsInput) throws Exception {
+	public XslWorkbook parseWorkbook(Path fodsInput) throws Exception {
+		return queenCampaignTransformer.parse(fodsInput);
+	}
+
+	public Source getQueenCampaign(XslWorkbook fodsInput) throws Exception {
 		return queenCampaignTransformer.extractCampaign(fodsInput);
 	}
 
-	public File getQueenQuestionnaires(File fodsInput) throws Exception {
+	public Source getQueenQuestionnaires(XslWorkbook fodsInput) throws Exception {
 		return queenCampaignTransformer.extractQuestionnaireModels(fodsInput);
 	}
 
-	public File getQueenSurveyUnits(File fodsInput) throws Exception {
+	public Source getQueenSurveyUnits(XslWorkbook fodsInput) throws Exception {
 		return queenCampaignTransformer.extractSurveyUnits(fodsInput);
 	}
 
-	public File getQueenNomenclatures(File fodsInput) throws Exception {
+	public Source getQueenNomenclatures(XslWorkbook fodsInput) throws Exception {
 		return queenCampaignTransformer.extractNomenclatures(fodsInput);
 	}
 
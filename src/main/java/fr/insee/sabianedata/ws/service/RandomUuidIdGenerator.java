@@ -0,0 +1,15 @@
+package fr.insee.sabianedata.ws.service;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDs (version 4), drawn from the shared {@link java.security.SecureRandom} : generating threads contend
+ * on it
+ */
+public class RandomUuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String newSurveyUnitId(String campaignId, int index) {
+        return UUID.randomUUID().toString();
+    }
+}
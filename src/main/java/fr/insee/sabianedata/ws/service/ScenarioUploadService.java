@@ -0,0 +1,206 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.ApplicationProperties;
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioUploadStatus;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioUploadStatus.UploadState;
+import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
+import fr.insee.sabianedata.ws.repository.TrainingScenarioLoader;
+import fr.insee.sabianedata.ws.repository.TrainingScenarioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Import zipped scenarios at runtime : the archive is stored on disk, then extracted off the request thread with
+ * the same pipeline as packaged scenarios, and finally registered in the scenario repository.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioUploadService {
+
+	private static final String UPLOADS_FOLDER = "uploads";
+	private static final String ARCHIVE_NAME = "scenario.zip";
+	private static final String CONTENT_FOLDER = "content";
+	private static final String INFO_FILE = "info.json";
+	// labels become folder names
+	private static final Pattern LABEL_PATTERN = Pattern.compile("[\\w-]+");
+	// protection against zip bombs
+	private static final long MAX_UNCOMPRESSED_BYTES = 512L * 1024 * 1024;
+	private static final int MAX_ENTRIES = 10_000;
+
+	private final TrainingScenarioLoader trainingScenarioLoader;
+	private final TrainingScenarioRepository trainingScenarioRepository;
+	private final ApplicationProperties applicationProperties;
+	private final ScenarioProperties scenarioProperties;
+
+	private final Map<String, ScenarioUploadStatus> uploads = new ConcurrentHashMap<>();
+	// one upload at a time : each one already extracts its campaigns concurrently
+	private final ExecutorService uploadExecutor = Executors.newSingleThreadExecutor(
+			new CustomizableThreadFactory("scenario-upload-"));
+
+	@PreDestroy
+	private void shutdown() {
+		uploadExecutor.shutdownNow();
+	}
+
+	/**
+	 * Store a zipped scenario on disk and schedule its extraction
+	 *
+	 * @param archive zipped scenario folder : `info.json` and campaign sub-folders
+	 * @return the status of the upload, to be followed with {@link #getUploadStatus(String)}
+	 */
+	public ScenarioUploadStatus upload(InputStream archive) throws IOException {
+		String uploadId = UUID.randomUUID().toString();
+		Path uploadFolder = Path.of(applicationProperties.tempFolder(), UPLOADS_FOLDER, uploadId);
+		Files.createDirectories(uploadFolder);
+		Path archiveFile = uploadFolder.resolve(ARCHIVE_NAME);
+		try (OutputStream outputStream = Files.newOutputStream(archiveFile)) {
+			archive.transferTo(outputStream);
+		}
+		log.info("Scenario upload {} stored ({} bytes)", uploadId, Files.size(archiveFile));
+
+		ScenarioUploadStatus status = new ScenarioUploadStatus(uploadId, UploadState.PENDING, null, List.of());
+		uploads.put(uploadId, status);
+		uploadExecutor.execute(() -> importScenario(uploadId, uploadFolder));
+		return status;
+	}
+
+	public Optional<ScenarioUploadStatus> getUploadStatus(String uploadId) {
+		return Optional.ofNullable(uploads.get(uploadId));
+	}
+
+	private void importScenario(String uploadId, Path uploadFolder) {
+		long start = System.currentTimeMillis();
+		uploads.computeIfPresent(uploadId, (id, status) -> status.withState(UploadState.EXTRACTING, null));
+		try {
+			Path contentFolder = uploadFolder.resolve(CONTENT_FOLDER);
+			unzip(uploadFolder.resolve(ARCHIVE_NAME), contentFolder);
+			Path scenarioFolder = findScenarioFolder(contentFolder);
+
+			TrainingScenario scenarioInfo = trainingScenarioLoader.readScenarioInfo(scenarioFolder);
+			validate(scenarioInfo);
+			uploads.computeIfPresent(uploadId,
+					(id, status) -> status.withState(UploadState.EXTRACTING, scenarioInfo.getLabel()));
+
+			TrainingScenario scenario = trainingScenarioLoader
+					.loadScenarios(List.of(scenarioFolder), scenarioProperties.loadingThreads()).get(0);
+			if (scenario.getCampaigns().isEmpty()) {
+				throw new ScenarioUploadException("Scenario has no campaign folder");
+			}
+			trainingScenarioRepository.registerScenario(scenario, scenarioFolder);
+			uploads.computeIfPresent(uploadId,
+					(id, status) -> status.withState(UploadState.REGISTERED, scenario.getLabel()));
+			log.info("Scenario upload {} registered as {} in {} ms", uploadId, scenario.getLabel(),
+					System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			log.warn("Scenario upload {} failed", uploadId, e);
+			uploads.computeIfPresent(uploadId, (id, status) -> status.failed(errorMessages(e)));
+		} finally {
+			FileSystemUtils.deleteRecursively(uploadFolder.toFile());
+		}
+	}
+
+	private void unzip(Path archiveFile, Path contentFolder) throws IOException {
+		Path root = Files.createDirectories(contentFolder).toRealPath();
+		long uncompressedBytes = 0;
+		int entries = 0;
+		try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archiveFile))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (++entries > MAX_ENTRIES) {
+					throw new ScenarioUploadException("Archive has more than " + MAX_ENTRIES + " entries");
+				}
+				Path target = root.resolve(entry.getName()).normalize();
+				if (!target.startsWith(root)) {
+					throw new ScenarioUploadException("Archive entry outside of the scenario folder : " + entry.getName());
+				}
+				if (entry.isDirectory()) {
+					Files.createDirectories(target);
+					continue;
+				}
+				Files.createDirectories(target.getParent());
+				try (OutputStream outputStream = Files.newOutputStream(target)) {
+					byte[] buffer = new byte[8192];
+					int read;
+					while ((read = zip.read(buffer)) != -1) {
+						uncompressedBytes += read;
+						if (uncompressedBytes > MAX_UNCOMPRESSED_BYTES) {
+							throw new ScenarioUploadException("Archive exceeds " + MAX_UNCOMPRESSED_BYTES + " bytes once uncompressed");
+						}
+						outputStream.write(buffer, 0, read);
+					}
+				}
+			}
+		}
+	}
+
+	// the archive holds either the content of the scenario folder, or the scenario folder itself
+	private Path findScenarioFolder(Path contentFolder) throws IOException {
+		if (Files.isRegularFile(contentFolder.resolve(INFO_FILE))) {
+			return contentFolder;
+		}
+		try (Stream<Path> children = Files.list(contentFolder)) {
+			List<Path> folders = children.filter(Files::isDirectory).toList();
+			if (folders.size() == 1 && Files.isRegularFile(folders.get(0).resolve(INFO_FILE))) {
+				return folders.get(0);
+			}
+		}
+		throw new ScenarioUploadException("No " + INFO_FILE + " found at the root of the archive");
+	}
+
+	private void validate(TrainingScenario scenarioInfo) {
+		if (scenarioInfo.getType() == null) {
+			throw new ScenarioUploadException("Scenario type is missing");
+		}
+		if (scenarioInfo.getLabel() == null || !LABEL_PATTERN.matcher(scenarioInfo.getLabel()).matches()) {
+			throw new ScenarioUploadException("Scenario label must only contain letters, digits, '_' and '-'");
+		}
+	}
+
+	private List<String> errorMessages(Throwable error) {
+		List<String> messages = new ArrayList<>();
+		collectMessages(error, messages);
+		return messages;
+	}
+
+	// scenario loading reports each failed campaign as a suppressed exception
+	private void collectMessages(Throwable error, List<String> messages) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause.getMessage() != null && !messages.contains(cause.getMessage())) {
+				messages.add(cause.getMessage());
+			}
+			for (Throwable suppressed : cause.getSuppressed()) {
+				collectMessages(suppressed, messages);
+			}
+		}
+	}
+
+	private static class ScenarioUploadException extends RuntimeException {
+		ScenarioUploadException(String message) {
+			super(message);
+		}
+	}
+}
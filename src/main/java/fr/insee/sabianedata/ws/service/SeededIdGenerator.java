@@ -0,0 +1,27 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.GenerationProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Deterministic UUIDs (version 3), derived from the seed, the campaign and the index of the survey unit : the same
+ * configuration generates the same ids whatever the scheduling, for tests and benchmarks.
+ * <p>
+ * Generating the same training course twice gives the same ids : not to be used against shared Pearl and Queen APIs.
+ */
+public class SeededIdGenerator implements IdGenerator {
+
+    private final long seed;
+
+    public SeededIdGenerator(GenerationProperties generationProperties) {
+        this.seed = generationProperties.idSeed();
+    }
+
+    @Override
+    public String newSurveyUnitId(String campaignId, int index) {
+        String name = String.join(":", Long.toString(seed), campaignId, Integer.toString(index));
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
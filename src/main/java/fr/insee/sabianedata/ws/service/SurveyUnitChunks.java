@@ -0,0 +1,122 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.model.massive_attack.MassiveCampaign;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Survey units of a generated campaign, generated chunk by chunk as they are consumed.
+ * <p>
+ * Each chunk is a copy of the campaign holding a range of its survey units, with their assignments. Only the next
+ * chunk is generated ahead, in the background, while the current one is consumed : at most two chunks are in memory
+ * whatever the number of trainees, and a slow consumer holds the generation back.
+ * <p>
+ * Once closed, no further chunk is generated : a consumer giving up midway closes the chunks so that the pool doesn't
+ * generate survey units that would be discarded.
+ */
+public class SurveyUnitChunks implements Iterator<MassiveCampaign>, AutoCloseable {
+
+    @FunctionalInterface
+    public interface ChunkGenerator {
+        /**
+         * @param from index of the first survey unit of the chunk
+         * @param to   index after the last survey unit of the chunk
+         * @return the chunk, generated in the background
+         */
+        CompletableFuture<MassiveCampaign> generate(int from, int to);
+    }
+
+    private final MassiveCampaign campaign;
+    private final int size;
+    private final int chunkSize;
+    private final ChunkGenerator chunkGenerator;
+    // index of the first survey unit of the next chunk to generate
+    private int generated;
+    private CompletableFuture<MassiveCampaign> nextChunk;
+    private boolean closed;
+
+    /**
+     * @param campaign       generated campaign, without its survey units
+     * @param size           number of survey units to generate
+     * @param chunkSize      maximum number of survey units of a chunk
+     * @param chunkGenerator generates the chunk of a range of survey units
+     */
+    public SurveyUnitChunks(MassiveCampaign campaign, int size, int chunkSize, ChunkGenerator chunkGenerator) {
+        this.campaign = campaign;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunkGenerator = chunkGenerator;
+    }
+
+    /**
+     * @return the generated campaign, without its survey units
+     */
+    public MassiveCampaign campaign() {
+        return campaign;
+    }
+
+    /**
+     * Start generating the first chunk in the background, if not started yet, e.g. while the campaign is posted
+     */
+    public void start() {
+        prefetch();
+    }
+
+    /**
+     * Starts the generation of the first chunk, if not started yet
+     */
+    @Override
+    public boolean hasNext() {
+        prefetch();
+        return nextChunk != null;
+    }
+
+    /**
+     * @return the next chunk, waiting for its generation to complete, the following chunk being generated meanwhile
+     * @throws RuntimeException if the generation of the chunk failed
+     */
+    @Override
+    public MassiveCampaign next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CompletableFuture<MassiveCampaign> chunk = nextChunk;
+        nextChunk = null;
+        MassiveCampaign currentChunk;
+        try {
+            currentChunk = chunk.join();
+        } catch (CompletionException e) {
+            // surface the generation failure as if the chunk had been generated on the calling thread
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        prefetch();
+        return currentChunk;
+    }
+
+    /**
+     * Stop generating chunks : the chunk generated ahead is cancelled, it is dropped if its generation hasn't started
+     * yet, and no further chunk is generated
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (nextChunk != null) {
+            nextChunk.cancel(false);
+            nextChunk = null;
+        }
+    }
+
+    private void prefetch() {
+        if (!closed && nextChunk == null && generated < size) {
+            int from = generated;
+            generated = Math.min(size, from + chunkSize);
+            nextChunk = chunkGenerator.generate(from, generated);
+        }
+    }
+}
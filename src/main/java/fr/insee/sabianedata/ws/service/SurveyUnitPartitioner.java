@@ -0,0 +1,89 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.config.properties.ScenarioProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Map the survey units of a single campaign by contiguous ranges, on a pool of its own, so that one large campaign
+ * doesn't keep a single core busy. Ranges are reassembled in their original order.
+ * <p>
+ * The pool is distinct from the campaign loading pool : a loading thread waiting for its ranges never starves them.
+ */
+@Component
+public class SurveyUnitPartitioner {
+
+    private final int threads;
+    private final int minPartitionSize;
+    private final ExecutorService executor;
+
+    @Autowired
+    public SurveyUnitPartitioner(ScenarioProperties scenarioProperties) {
+        this(scenarioProperties.surveyUnitThreads(), scenarioProperties.surveyUnitPartitionSize());
+    }
+
+    /**
+     * @param threads          size of the pool, survey units being mapped on the calling thread when 1 or less
+     * @param minPartitionSize minimal number of survey units in a range
+     */
+    public SurveyUnitPartitioner(int threads, int minPartitionSize) {
+        this.threads = threads;
+        this.minPartitionSize = minPartitionSize;
+        if (threads > 1) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("survey-unit-extraction-");
+            threadFactory.setDaemon(true);
+            this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param items  survey units (or their rows) of a campaign
+     * @param mapper stateless mapping, applied concurrently to distinct ranges
+     * @return mapped items, in the order of the given ones
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> mapper) {
+        int partitions = Math.min(threads, items.size() / minPartitionSize);
+        if (executor == null || partitions < 2) {
+            return items.stream().map(mapper).toList();
+        }
+        int partitionSize = (items.size() + partitions - 1) / partitions;
+        List<CompletableFuture<List<R>>> ranges = new ArrayList<>(partitions);
+        for (int from = 0; from < items.size(); from += partitionSize) {
+            List<T> range = items.subList(from, Math.min(from + partitionSize, items.size()));
+            ranges.add(CompletableFuture.supplyAsync(() -> range.stream().map(mapper).toList(), executor));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> range : ranges) {
+            try {
+                results.addAll(range.join());
+            } catch (CompletionException e) {
+                // surface the mapping failure as if the items had been mapped on the calling thread
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+}
@@ -6,20 +6,33 @@ import fr.insee.sabianedata.ws.model.queen.QueenSurveyUnit;
 import fr.insee.sabianedata.ws.model.queen.QuestionnaireModel;
 import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelDto;
 import fr.insee.sabianedata.ws.model.queen.SurveyUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class TrainingCourseService {
 
+	private final GenerationPool generationPool;
+	private final IdGenerator idGenerator;
+	private final CampaignHeaderCache campaignHeaderCache;
+
+	/**
+	 * Generate the campaigns of a training course concurrently, in the order of the scenario campaigns
+	 *
+	 * @return generated campaigns, null for the ones which couldn't be generated
+	 */
 	public List<MassiveCampaign> generateTrainingCourse(TrainingScenario scenario,
 														TrainingConfiguration configuration) {
 
-		return scenario.getCampaigns().stream().map(camp -> {
+		long start = System.currentTimeMillis();
+		List<MassiveCampaign> trainingCourse = generationPool.map(scenario.getCampaigns(), camp -> {
 			try {
 				return prepareTrainingCourse(camp, configuration, scenario);
 
@@ -27,12 +40,88 @@ public class TrainingCourseService {
 				log.error("Couldn't create training course {}", camp.getId(), e1);
 				return null;
 			}
-		}).toList();
+		});
+		int surveyUnits = trainingCourse.stream().filter(Objects::nonNull)
+				.mapToInt(campaign -> campaign.getSurveyUnits().size()).sum();
+		log.info("Generated {} survey units in {} ms, ids from {}", surveyUnits, System.currentTimeMillis() - start,
+				idGenerator.getClass().getSimpleName());
+		return trainingCourse;
+	}
+
+	/**
+	 * Prepare the campaigns of a training course, whose survey units are then generated chunk by chunk as they are
+	 * consumed
+	 *
+	 * @param chunkSize maximum number of survey units of a chunk
+	 * @return survey units of each campaign, in the order of the scenario campaigns, null for the campaigns which
+	 * couldn't be prepared
+	 */
+	public List<SurveyUnitChunks> streamTrainingCourse(TrainingScenario scenario, TrainingConfiguration configuration,
+													   int chunkSize) {
+
+		return generationPool.map(scenario.getCampaigns(), camp -> {
+			try {
+				return prepareSurveyUnitChunks(camp, configuration, scenario, chunkSize);
+
+			} catch (Exception e1) {
+				log.error("Couldn't create training course {}", camp.getId(), e1);
+				return null;
+			}
+		});
 	}
 
 
 	private MassiveCampaign prepareTrainingCourse(MassiveCampaign templateCampaign, TrainingConfiguration configuration,
 												  TrainingScenario scenario) {
+		CampaignHeader header = campaignHeader(templateCampaign, configuration, scenario);
+		MassiveCampaign generatedCampaign = new MassiveCampaign(header.pearlCampaign(), header.queenCampaign(), null,
+				null);
+
+		// 7 : generate pearl survey-units for interviewers
+		// big fancy method dispatching survey-unit to trainees
+		SurveyUnitGeneration generation =
+				generateSurveyUnits(templateCampaign.getSurveyUnits(), generatedCampaign.getId(), configuration,
+						templateCampaign.getAssignments(), scenario.getType(), header.questionnaireIdMapping());
+		List<MassiveSurveyUnit> dispatchedSurveyUnits = generationPool.generate(generation.size(),
+				generation.generator());
+		generatedCampaign.setSurveyUnits(dispatchedSurveyUnits);
+		// extract assignments after dispatch
+		List<Assignment> distributedAssignments = extractDistributedAssignements(dispatchedSurveyUnits);
+		generatedCampaign.setAssignments(distributedAssignments);
+
+		return generatedCampaign;
+
+	}
+
+	private SurveyUnitChunks prepareSurveyUnitChunks(MassiveCampaign templateCampaign,
+													 TrainingConfiguration configuration, TrainingScenario scenario,
+													 int chunkSize) {
+		CampaignHeader header = campaignHeader(templateCampaign, configuration, scenario);
+		MassiveCampaign generatedCampaign = new MassiveCampaign(header.pearlCampaign(), header.queenCampaign(),
+				List.of(), List.of());
+
+		// 7 : survey-units are dispatched by ranges, each chunk holding the assignments of its survey-units
+		SurveyUnitGeneration generation =
+				generateSurveyUnits(templateCampaign.getSurveyUnits(), generatedCampaign.getId(), configuration,
+						templateCampaign.getAssignments(), scenario.getType(), header.questionnaireIdMapping());
+		return new SurveyUnitChunks(generatedCampaign, generation.size(), chunkSize,
+				(from, to) -> generationPool.supply(() -> {
+					List<MassiveSurveyUnit> chunk = generationPool.generate(to - from,
+							index -> generation.generator().apply(from + index));
+					return new MassiveCampaign(header.pearlCampaign(), header.queenCampaign(), chunk,
+							extractDistributedAssignements(chunk));
+				}));
+	}
+
+	// 1 to 6 : campaigns, shared by the training courses of the same configuration
+	private CampaignHeader campaignHeader(MassiveCampaign templateCampaign, TrainingConfiguration configuration,
+										  TrainingScenario scenario) {
+		return campaignHeaderCache.get(templateCampaign, scenario.getType(), configuration,
+				() -> prepareCampaignHeader(templateCampaign, configuration, scenario));
+	}
+
+	private CampaignHeader prepareCampaignHeader(MassiveCampaign templateCampaign, TrainingConfiguration configuration,
+												 TrainingScenario scenario) {
 		// extract configuration
 		String organisationUnitId = configuration.organisationUnitId();
 		Long referenceDate = configuration.referenceDate();
@@ -70,19 +159,8 @@ public class TrainingCourseService {
 		generatedCampaign.getQueenCampaign().setQuestionnaireModels(newQuestionnaireModels);
 		generatedCampaign.getQueenCampaign().setQuestionnaireIds(newQuestionnaireIds);
 
-
-		// 7 : generate pearl survey-units for interviewers
-		// big fancy method dispatching survey-unit to trainees
-		List<MassiveSurveyUnit> dispatchedSurveyUnits =
-				generateSurveyUnits(templateCampaign.getSurveyUnits(), newCampaignId, configuration,
-						templateCampaign.getAssignments(), scenario.getType(), questionnaireIdMapping);
-		generatedCampaign.setSurveyUnits(dispatchedSurveyUnits);
-		// extract assignments after dispatch
-		List<Assignment> distributedAssignments = extractDistributedAssignements(dispatchedSurveyUnits);
-		generatedCampaign.setAssignments(distributedAssignments);
-
-		return generatedCampaign;
-
+		return new CampaignHeader(generatedCampaign.getPearlCampaign(), generatedCampaign.getQueenCampaign(),
+				Collections.unmodifiableMap(questionnaireIdMapping));
 	}
 
 
@@ -100,17 +178,16 @@ public class TrainingCourseService {
 	 * Take a SurveyUnit `template`,and return a clone of it updated with other params
 	 *
 	 * @param surveyUnit         survey-unit to update
+	 * @param newId              new survey-unit id, kept by the Pearl and Queen survey units
 	 * @param interviewerId      interviewerId to assign
 	 * @param campaignId         new campaignId
 	 * @param organisationUnitId new organisationalUnit id
 	 * @param referenceDate      reference date modifier
 	 * @param newQuestionnaireId new questionnaire id
 	 */
-	private MassiveSurveyUnit updateSurveyUnit(MassiveSurveyUnit surveyUnit, String interviewerId, String campaignId,
-											   String organisationUnitId, Long referenceDate,
+	private MassiveSurveyUnit updateSurveyUnit(MassiveSurveyUnit surveyUnit, String newId, String interviewerId,
+											   String campaignId, String organisationUnitId, Long referenceDate,
 											   String newQuestionnaireId) {
-		// to keep same id in  pearl and queen APIs
-		String newId = UUID.randomUUID().toString();
 		PearlSurveyUnit pearlSurveyUnit = updatePearlSurveyUnit(surveyUnit.getPearlSurveyUnit(), newId, interviewerId,
 				campaignId, organisationUnitId, referenceDate);
 		QueenSurveyUnit queenSurveyUnit = updateQueenSurveyUnit(surveyUnit.getQueenSurveyUnit(), newId,
@@ -182,57 +259,60 @@ public class TrainingCourseService {
 	 * @param assignments            initial assignments (for MANAGER case)
 	 * @param type                   MANAGER or INTERVIEWER
 	 * @param questionnaireIdMapping map linking initial questionnaire ids to generated ids
-	 * @return dispatched new survey-units
+	 * @return dispatched new survey-units, each generated from its index alone : at once or by ranges
 	 */
-	private List<MassiveSurveyUnit> generateSurveyUnits(
+	private SurveyUnitGeneration generateSurveyUnits(
 			List<MassiveSurveyUnit> surveyUnits,
 			String campaignId,
 			TrainingConfiguration configuration,
 			List<Assignment> assignments,
 
-			ScenarioType type, HashMap<String, String> questionnaireIdMapping) {
+			ScenarioType type, Map<String, String> questionnaireIdMapping) {
 		String organisationUnitId = configuration.organisationUnitId();
 		Long referenceDate = configuration.referenceDate();
 
 		return switch (type) {
-			// for each trainee => dispatch each TrainingCourse Survey-unit
-			case INTERVIEWER -> configuration.trainees().stream()
-					.flatMap(interviewerId -> surveyUnits.stream()
-							.map(surveyUnit -> {
-										String questId = surveyUnit.getQueenSurveyUnit().getQuestionnaireId();
-										String newQuestionnaireId = questionnaireIdMapping.get(questId);
-										return updateSurveyUnit(surveyUnit,
-												interviewerId,
-												campaignId,
-												organisationUnitId,
-												referenceDate,
-												newQuestionnaireId);
-									}
-							)
-					)
-					.toList();
+			// for each trainee => dispatch each TrainingCourse Survey-unit, trainee after trainee
+			case INTERVIEWER -> {
+				List<String> trainees = configuration.trainees();
+				yield new SurveyUnitGeneration(trainees.size() * surveyUnits.size(), index -> {
+					MassiveSurveyUnit surveyUnit = surveyUnits.get(index % surveyUnits.size());
+					String questId = surveyUnit.getQueenSurveyUnit().getQuestionnaireId();
+					String newQuestionnaireId = questionnaireIdMapping.get(questId);
+					return updateSurveyUnit(surveyUnit,
+							idGenerator.newSurveyUnitId(campaignId, index),
+							trainees.get(index / surveyUnits.size()),
+							campaignId,
+							organisationUnitId,
+							referenceDate,
+							newQuestionnaireId);
+				});
+			}
 
 			case MANAGER -> {
 				Map<String, String> assignMap = assignments.stream()
 						.collect(Collectors.toMap(Assignment::getSurveyUnitId, Assignment::getInterviewerId));
 
-				yield surveyUnits.stream()
-						.map(surveyUnit -> {
-							String questId = surveyUnit.getQueenSurveyUnit().getQuestionnaireId();
-							String newQuestionnaireId = questionnaireIdMapping.get(questId);
-
-							return updateSurveyUnit(surveyUnit,
-									assignMap.get(surveyUnit.getId()),
-									campaignId,
-									organisationUnitId,
-									referenceDate,
-									newQuestionnaireId);
-						})
-						.toList();
+				yield new SurveyUnitGeneration(surveyUnits.size(), index -> {
+					MassiveSurveyUnit surveyUnit = surveyUnits.get(index);
+					String questId = surveyUnit.getQueenSurveyUnit().getQuestionnaireId();
+					String newQuestionnaireId = questionnaireIdMapping.get(questId);
+
+					return updateSurveyUnit(surveyUnit,
+							idGenerator.newSurveyUnitId(campaignId, index),
+							assignMap.get(surveyUnit.getId()),
+							campaignId,
+							organisationUnitId,
+							referenceDate,
+							newQuestionnaireId);
+				});
 			}
 		};
 	}
 
+	private record SurveyUnitGeneration(int size, IntFunction<MassiveSurveyUnit> generator) {
+	}
+
 
 	private List<Visibility> updateVisibilities(MassiveCampaign campaign, Long referenceDate, String organisationUnitId) {
 		return campaign.getPearlCampaign().getVisibilities().stream()
@@ -1,5 +1,9 @@
 package fr.insee.sabianedata.ws.service;
 
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioHeapReport;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioListing;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioLoadingStatus;
+import fr.insee.sabianedata.ws.model.massive_attack.ScenarioValidationReport;
 import fr.insee.sabianedata.ws.model.massive_attack.TrainingScenario;
 import fr.insee.sabianedata.ws.repository.TrainingScenarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +24,23 @@ public class TrainingScenarioService {
 		return trainingScenarioRepository.getTrainingScenarioById(scenarioId);
 	}
 
-	public List<TrainingScenario> getAllTrainingScenarioTitles() {
-		return trainingScenarioRepository.getTrainingScenarioIdsAndType();
+	public ScenarioListing getAllTrainingScenarioTitles() {
+		return trainingScenarioRepository.getScenarioListing();
+	}
+
+	public ScenarioLoadingStatus getLoadingStatus() {
+		return trainingScenarioRepository.getLoadingStatus();
+	}
+
+	public List<ScenarioValidationReport> getValidationReports() {
+		return trainingScenarioRepository.getValidationReports();
+	}
+
+	public Optional<ScenarioValidationReport> getValidationReport(String scenarioId) {
+		return trainingScenarioRepository.getValidationReport(scenarioId);
+	}
+
+	public List<ScenarioHeapReport> getHeapReports() {
+		return trainingScenarioRepository.getHeapReports();
 	}
 }
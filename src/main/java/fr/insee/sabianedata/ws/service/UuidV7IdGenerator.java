@@ -0,0 +1,29 @@
+package fr.insee.sabianedata.ws.service;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Default generator : time-ordered UUIDs (version 7), a millisecond timestamp followed by 74 random bits.
+ * <p>
+ * Each thread draws its random bits from a generator of its own, seeded once from a {@link SecureRandom} : ids are
+ * generated without any lock, and replicas never share a seed.
+ */
+public class UuidV7IdGenerator implements IdGenerator {
+
+    private static final SecureRandom seeds = new SecureRandom();
+    private static final ThreadLocal<SplittableRandom> randoms =
+            ThreadLocal.withInitial(() -> new SplittableRandom(seeds.nextLong()));
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    @Override
+    public String newSurveyUnitId(String campaignId, int index) {
+        SplittableRandom random = randoms.get();
+        long mostSignificantBits = (System.currentTimeMillis() << 16) | VERSION | (random.nextLong() & 0xFFFL);
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
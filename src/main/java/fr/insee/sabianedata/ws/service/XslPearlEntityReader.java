@@ -0,0 +1,53 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.model.pearl.Assignements;
+import fr.insee.sabianedata.ws.model.pearl.PearlCampaign;
+import fr.insee.sabianedata.ws.model.pearl.PearlSurveyUnits;
+import fr.insee.sabianedata.ws.service.xsl.XslWorkbook;
+import fr.insee.sabianedata.ws.utils.XmlSourceToObject;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+
+/**
+ * Default Pearl extraction engine : XSL stylesheets applied to the Saxon tree, mapped by Jackson
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.scenarios.extraction-engine", havingValue = "xslt", matchIfMissing = true)
+public class XslPearlEntityReader implements PearlEntityReader {
+
+    private final PearlTransformService pearlTransformService;
+
+    @Override
+    public FodsWorkbook parseWorkbook(Path fods) throws Exception {
+        return pearlTransformService.parseWorkbook(fods);
+    }
+
+    @Override
+    public PearlCampaign readCampaign(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(pearlTransformService.getPearlCampaign(tree(workbook)), PearlCampaign.class);
+    }
+
+    @Override
+    public PearlSurveyUnits readSurveyUnits(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(pearlTransformService.getPearlSurveyUnits(tree(workbook)),
+                PearlSurveyUnits.class);
+    }
+
+    @Override
+    public Assignements readAssignments(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(pearlTransformService.getPearlAssignement(tree(workbook)),
+                Assignements.class);
+    }
+
+    private static XslWorkbook tree(FodsWorkbook workbook) {
+        if (workbook instanceof XslWorkbook xslWorkbook) {
+            return xslWorkbook;
+        }
+        throw new IllegalArgumentException(
+                String.format("Workbook %s was not parsed by the XSLT engine", workbook.file().getFileName()));
+    }
+}
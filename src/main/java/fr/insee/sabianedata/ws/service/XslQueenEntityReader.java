@@ -0,0 +1,60 @@
+package fr.insee.sabianedata.ws.service;
+
+import fr.insee.sabianedata.ws.model.queen.NomenclaturesList;
+import fr.insee.sabianedata.ws.model.queen.QueenCampaign;
+import fr.insee.sabianedata.ws.model.queen.QuestionnaireModelsList;
+import fr.insee.sabianedata.ws.model.queen.SurveyUnitsList;
+import fr.insee.sabianedata.ws.service.xsl.XslWorkbook;
+import fr.insee.sabianedata.ws.utils.XmlSourceToObject;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+
+/**
+ * Default Queen extraction engine : XSL stylesheets applied to the Saxon tree, mapped by Jackson
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.scenarios.extraction-engine", havingValue = "xslt", matchIfMissing = true)
+public class XslQueenEntityReader implements QueenEntityReader {
+
+    private final QueenTransformService queenTransformService;
+
+    @Override
+    public FodsWorkbook parseWorkbook(Path fods) throws Exception {
+        return queenTransformService.parseWorkbook(fods);
+    }
+
+    @Override
+    public QueenCampaign readCampaign(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(queenTransformService.getQueenCampaign(tree(workbook)), QueenCampaign.class);
+    }
+
+    @Override
+    public SurveyUnitsList readSurveyUnits(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(queenTransformService.getQueenSurveyUnits(tree(workbook)),
+                SurveyUnitsList.class);
+    }
+
+    @Override
+    public QuestionnaireModelsList readQuestionnaireModels(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(queenTransformService.getQueenQuestionnaires(tree(workbook)),
+                QuestionnaireModelsList.class);
+    }
+
+    @Override
+    public NomenclaturesList readNomenclatures(FodsWorkbook workbook) throws Exception {
+        return XmlSourceToObject.readValue(queenTransformService.getQueenNomenclatures(tree(workbook)),
+                NomenclaturesList.class);
+    }
+
+    private static XslWorkbook tree(FodsWorkbook workbook) {
+        if (workbook instanceof XslWorkbook xslWorkbook) {
+            return xslWorkbook;
+        }
+        throw new IllegalArgumentException(
+                String.format("Workbook %s was not parsed by the XSLT engine", workbook.file().getFileName()));
+    }
+}
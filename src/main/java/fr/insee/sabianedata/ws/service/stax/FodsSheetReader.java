@@ -0,0 +1,174 @@
+package fr.insee.sabianedata.ws.service.stax;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stream a FODS workbook, keeping only the cell values of the requested sheets.
+ * <p>
+ * Mirrors {@code utils.xsl}: only the direct rows of a sheet and their {@code table:table-cell} are read, a cell
+ * repeated less than 30 times is expanded, and a cell value is the normalized text of all its descendants.
+ */
+public final class FodsSheetReader {
+
+    private static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    // above this count a repeated cell is a padding one : the stylesheets keep it only once
+    private static final int MAX_EXPANDED_REPEAT = 30;
+    private static final String[] BLANK_ROW = new String[0];
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    private FodsSheetReader() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    public static FodsSheets read(Path fods, Set<String> sheetNames) throws IOException {
+        Map<String, List<String[]>> sheets = new HashMap<>();
+        try (InputStream inputStream = Files.newInputStream(fods)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && isTableElement(reader, "table")) {
+                        String name = reader.getAttributeValue(TABLE_NS, "name");
+                        if (sheetNames.contains(name) && !sheets.containsKey(name)) {
+                            sheets.put(name, readRows(reader));
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read FODS workbook " + fods.getFileName(), e);
+        }
+        return new FodsSheets(fods, sheets);
+    }
+
+    private static List<String[]> readRows(XMLStreamReader reader) throws XMLStreamException {
+        List<String[]> rows = new ArrayList<>();
+        int event;
+        while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isTableElement(reader, "table-row")) {
+                    rows.add(readRow(reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String[] readRow(XMLStreamReader reader) throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        int significantCells = 0;
+        int event;
+        while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isTableElement(reader, "table-cell")) {
+                    int copies = copies(reader.getAttributeValue(TABLE_NS, "number-columns-repeated"));
+                    String value = normalizeSpace(readText(reader));
+                    for (int i = 0; i < copies; i++) {
+                        cells.add(value);
+                    }
+                    if (!value.isEmpty() && copies > 0) {
+                        significantCells = cells.size();
+                    }
+                } else {
+                    skipElement(reader);
+                }
+            }
+        }
+        // trailing blank cells are dropped : a missing cell reads as an empty one
+        return significantCells == 0 ? BLANK_ROW : cells.subList(0, significantCells).toArray(String[]::new);
+    }
+
+    private static int copies(String repeated) {
+        if (repeated == null || repeated.isEmpty()) {
+            return 1;
+        }
+        double count;
+        try {
+            count = Double.parseDouble(repeated);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+        if (!(count < MAX_EXPANDED_REPEAT)) {
+            return 1;
+        }
+        return count > 0 ? (int) Math.ceil(count) : 0;
+    }
+
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                default -> {
+                    // comments and processing instructions carry no cell text
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isTableElement(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && TABLE_NS.equals(reader.getNamespaceURI());
+    }
+
+    /**
+     * XPath normalize-space : trim and collapse XML whitespace, leaving any other space character untouched
+     */
+    static String normalizeSpace(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                pendingSpace = !normalized.isEmpty();
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
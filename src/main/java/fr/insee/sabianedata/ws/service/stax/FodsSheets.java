@@ -0,0 +1,69 @@
+package fr.insee.sabianedata.ws.service.stax;
+
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The sheets of a FODS workbook needed by an extraction, read once as plain cell values.
+ * <p>
+ * Rows keep their position in the sheet, blank rows included, and cells are already expanded and normalized the way
+ * {@code tools:get-full-row} and {@code tools:getColumn} do it in the extraction stylesheets.
+ *
+ * @param file   source file of the workbook
+ * @param sheets rows of each kept sheet, by sheet name
+ */
+public record FodsSheets(Path file, Map<String, List<String[]>> sheets) implements FodsWorkbook {
+
+    /**
+     * @return rows of the sheet, empty when the workbook has no such sheet
+     */
+    public Optional<List<String[]>> rows(String sheet) {
+        return Optional.ofNullable(sheets.get(sheet));
+    }
+
+    /**
+     * @return the row at the given 1-based position of the sheet
+     * @throws IllegalArgumentException when the sheet or the row doesn't exist
+     */
+    public String[] row(String sheet, int position) {
+        List<String[]> rows = rows(sheet).orElseThrow(() -> new IllegalArgumentException(
+                String.format("Sheet '%s' is missing in %s", sheet, file.getFileName())));
+        if (rows.size() < position) {
+            throw new IllegalArgumentException(
+                    String.format("Sheet '%s' of %s has no row %d", sheet, file.getFileName(), position));
+        }
+        return rows.get(position - 1);
+    }
+
+    /**
+     * @return value of the 1-based column of the row, empty beyond its last non-blank cell
+     */
+    public static String cell(String[] row, int column) {
+        return column <= row.length ? row[column - 1] : "";
+    }
+
+    public static boolean isBlank(String[] row) {
+        return row.length == 0;
+    }
+
+    /**
+     * XPath upper-case
+     */
+    public static String upperCase(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * XPath tokenize on commas : no token for an empty value, empty tokens and surrounding spaces kept otherwise
+     */
+    public static List<String> tokenize(String value) {
+        return value.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(value.split(",", -1)));
+    }
+}
@@ -0,0 +1,304 @@
+package fr.insee.sabianedata.ws.service.stax;
+
+import fr.insee.sabianedata.ws.model.pearl.*;
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+import fr.insee.sabianedata.ws.service.PearlEntityReader;
+import fr.insee.sabianedata.ws.service.SurveyUnitPartitioner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.cell;
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.isBlank;
+
+/**
+ * Pearl extraction engine streaming the workbook and building the entities directly, without any intermediate XML.
+ * Produces the same entities as {@code pearl-extract-*.xsl} mapped by Jackson.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.scenarios.extraction-engine", havingValue = "stax")
+public class StaxPearlEntityReader implements PearlEntityReader {
+
+    private static final String CAMPAIGN = "campaign";
+    private static final String ORGANISATIONAL_UNITS = "organisationalUnits";
+    private static final String REFERENT = "referent";
+    private static final String ASSIGNEMENT = "assignement";
+    private static final String SURVEY_UNITS = "surveyUnits";
+    private static final String PERSONS = "persons";
+    private static final String STATES = "states";
+    private static final String CONTACT_ATTEMPTS = "contactAttempts";
+    private static final String IDENTIFICATION = "identification";
+    private static final Set<String> SHEETS = Set.of(CAMPAIGN, ORGANISATIONAL_UNITS, REFERENT, ASSIGNEMENT,
+            SURVEY_UNITS, PERSONS, STATES, CONTACT_ATTEMPTS, IDENTIFICATION);
+    private static final int FIRST_PHONE_COLUMN = 9;
+
+    private final SurveyUnitPartitioner surveyUnitPartitioner;
+
+    /**
+     * Rows of the satellite sheets by survey-unit id
+     */
+    private record SatelliteRows(Map<String, List<String[]>> persons, Map<String, List<String[]>> states,
+                                 Map<String, List<String[]>> contactAttempts,
+                                 Map<String, List<String[]>> identifications) {
+    }
+
+    @Override
+    public FodsWorkbook parseWorkbook(Path fods) throws Exception {
+        long start = System.currentTimeMillis();
+        FodsSheets sheets = FodsSheetReader.read(fods, SHEETS);
+        log.info("Read pearl workbook {} in {} ms", fods.getFileName(), System.currentTimeMillis() - start);
+        return sheets;
+    }
+
+    @Override
+    public PearlCampaign readCampaign(FodsWorkbook workbook) {
+        FodsSheets sheets = sheets(workbook);
+        PearlCampaign campaign = new PearlCampaign();
+        if (sheets.rows(CAMPAIGN).isPresent()) {
+            String[] row = sheets.row(CAMPAIGN, 2);
+            campaign.setCampaign(FodsSheets.upperCase(cell(row, 1)));
+            campaign.setCampaignLabel(cell(row, 2));
+            campaign.setEmail(cell(row, 3));
+            campaign.setIdentificationConfiguration(cell(row, 4));
+            campaign.setContactOutcomeConfiguration(cell(row, 5));
+            campaign.setContactAttemptConfiguration(cell(row, 6));
+        }
+        sheets.rows(ORGANISATIONAL_UNITS).ifPresent(rows -> campaign.setVisibilities(new ArrayList<>(
+                dataRows(rows).stream().map(StaxPearlEntityReader::toVisibility).toList())));
+        sheets.rows(REFERENT).ifPresent(rows -> campaign.setReferents(new ArrayList<>(
+                dataRows(rows).stream().map(StaxPearlEntityReader::toReferent).toList())));
+        return campaign;
+    }
+
+    @Override
+    public PearlSurveyUnits readSurveyUnits(FodsWorkbook workbook) {
+        FodsSheets sheets = sheets(workbook);
+        List<String[]> surveyUnitRows = dataRows(sheets.rows(SURVEY_UNITS).orElseThrow(() -> missingSheet(sheets,
+                SURVEY_UNITS)));
+        PearlSurveyUnits pearlSurveyUnits = new PearlSurveyUnits();
+        if (surveyUnitRows.isEmpty()) {
+            return pearlSurveyUnits;
+        }
+        String campaign = FodsSheets.upperCase(cell(sheets.row(CAMPAIGN, 2), 1));
+        // indexes are built once and only read afterwards : every range of rows joins against the same ones
+        SatelliteRows satelliteRows = new SatelliteRows(index(sheets, PERSONS), index(sheets, STATES),
+                index(sheets, CONTACT_ATTEMPTS), index(sheets, IDENTIFICATION));
+        pearlSurveyUnits.setSurveyUnits(new ArrayList<>(surveyUnitPartitioner.map(surveyUnitRows,
+                row -> toSurveyUnit(row, campaign, satelliteRows))));
+        return pearlSurveyUnits;
+    }
+
+    @Override
+    public Assignements readAssignments(FodsWorkbook workbook) {
+        FodsSheets sheets = sheets(workbook);
+        List<String[]> rows = dataRows(sheets.rows(ASSIGNEMENT).orElseThrow(() -> missingSheet(sheets,
+                ASSIGNEMENT)));
+        Assignements assignements = new Assignements();
+        if (!rows.isEmpty()) {
+            assignements.setAssignments(new ArrayList<>(rows.stream()
+                    .map(row -> new Assignment(cell(row, 1), cell(row, 2))).toList()));
+        }
+        return assignements;
+    }
+
+    private static FodsSheets sheets(FodsWorkbook workbook) {
+        if (workbook instanceof FodsSheets sheets) {
+            return sheets;
+        }
+        throw new IllegalArgumentException(
+                String.format("Workbook %s was not read by the StAX engine", workbook.file().getFileName()));
+    }
+
+    private static IllegalArgumentException missingSheet(FodsSheets sheets, String sheet) {
+        return new IllegalArgumentException(String.format("Sheet '%s' is missing in %s", sheet,
+                sheets.file().getFileName()));
+    }
+
+    /**
+     * @return non-blank rows of a sheet, header excluded
+     */
+    private static List<String[]> dataRows(List<String[]> rows) {
+        return rows.stream().skip(1).filter(row -> !isBlank(row)).toList();
+    }
+
+    /**
+     * Rows of a satellite sheet by survey-unit id, like the stylesheet keys : every row is indexed, header included
+     */
+    private static Map<String, List<String[]>> index(FodsSheets sheets, String sheet) {
+        Map<String, List<String[]>> index = new HashMap<>();
+        sheets.rows(sheet).ifPresent(rows -> rows
+                .forEach(row -> index.computeIfAbsent(cell(row, 1), k -> new ArrayList<>()).add(row)));
+        return index;
+    }
+
+    private static List<String[]> lookup(Map<String, List<String[]>> index, String id, boolean keepBlankRows) {
+        List<String[]> rows = index.getOrDefault(id, List.of());
+        return keepBlankRows ? rows : rows.stream().filter(row -> !isBlank(row)).toList();
+    }
+
+    private static PearlSurveyUnit toSurveyUnit(String[] row, String campaign, SatelliteRows satelliteRows) {
+        String id = cell(row, 1);
+        PearlSurveyUnit surveyUnit = new PearlSurveyUnit();
+        surveyUnit.setDisplayName(id);
+        surveyUnit.setPersons(new ArrayList<>(lookup(satelliteRows.persons(), id, true).stream()
+                .map(StaxPearlEntityReader::toPerson).toList()));
+        surveyUnit.setPriority(parseBoolean(cell(row, 2)));
+        surveyUnit.setCampaign(campaign);
+        surveyUnit.setOrganizationUnitId(cell(row, 3));
+        surveyUnit.setMove(parseNullableBoolean(cell(row, 4)));
+        surveyUnit.setAddress(toAddress(row));
+        surveyUnit.setSampleIdentifiers(toSampleIdentifiers(row));
+        if (!cell(row, 23).isEmpty()) {
+            surveyUnit.setComment(cell(row, 23));
+        }
+        surveyUnit.setContactAttempts(new ArrayList<>(lookup(satelliteRows.contactAttempts(), id, false).stream()
+                .map(StaxPearlEntityReader::toContactAttempt).toList()));
+        if (!cell(row, 24).isEmpty()) {
+            surveyUnit.setContactOutcome(toContactOutcome(row));
+        }
+        surveyUnit.setStates(new ArrayList<>(lookup(satelliteRows.states(), id, false).stream()
+                .map(StaxPearlEntityReader::toState).toList()));
+        IdentificationData identification = new IdentificationData();
+        // setters ignore blank values : as in the XML mapping, the last non-blank value of each field wins
+        for (String[] identificationRow : lookup(satelliteRows.identifications(), id, true)) {
+            identification.setIdentification(cell(identificationRow, 2));
+            identification.setAccess(cell(identificationRow, 3));
+            identification.setSituation(cell(identificationRow, 4));
+            identification.setCategory(cell(identificationRow, 5));
+            identification.setOccupant(cell(identificationRow, 6));
+        }
+        surveyUnit.setIdentification(identification);
+        return surveyUnit;
+    }
+
+    private static Person toPerson(String[] row) {
+        Person person = new Person();
+        person.setFirstName(cell(row, 2));
+        person.setLastName(cell(row, 3));
+        person.setTitle(cell(row, 4));
+        person.setEmail(cell(row, 5));
+        person.setPrivileged(parseBoolean(cell(row, 6)));
+        person.setFavoriteEmail(parseBoolean(cell(row, 7)));
+        person.setBirthdateString(cell(row, 8));
+        ArrayList<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int column = FIRST_PHONE_COLUMN; column <= row.length; column += 3) {
+            if (!cell(row, column).isEmpty()) {
+                PhoneNumber phoneNumber = new PhoneNumber();
+                phoneNumber.setSource(cell(row, column));
+                phoneNumber.setFavorite(parseBoolean(cell(row, column + 1)));
+                phoneNumber.setNumber(cell(row, column + 2));
+                phoneNumbers.add(phoneNumber);
+            }
+        }
+        person.setPhoneNumbers(phoneNumbers);
+        return person;
+    }
+
+    private static AdressDto toAddress(String[] row) {
+        AdressDto address = new AdressDto();
+        address.setL1(cell(row, 5));
+        address.setL2(cell(row, 6));
+        address.setL3(cell(row, 7));
+        address.setL4(cell(row, 8));
+        address.setL5(cell(row, 9));
+        address.setL6(cell(row, 10));
+        address.setL7(cell(row, 11));
+        address.setElevator(parseNullableBoolean(cell(row, 27)));
+        address.setBuilding(cell(row, 28));
+        address.setFloor(cell(row, 29));
+        address.setDoor(cell(row, 30));
+        address.setStaircase(cell(row, 31));
+        address.setCityPriorityDistrict(parseNullableBoolean(cell(row, 32)));
+        return address;
+    }
+
+    private static SampleIdentifiersDto toSampleIdentifiers(String[] row) {
+        SampleIdentifiersDto sampleIdentifiers = new SampleIdentifiersDto();
+        sampleIdentifiers.setBs(cell(row, 12));
+        sampleIdentifiers.setEc(cell(row, 13));
+        sampleIdentifiers.setLe(cell(row, 14));
+        sampleIdentifiers.setNoi(cell(row, 15));
+        sampleIdentifiers.setNumfa(cell(row, 16));
+        sampleIdentifiers.setRges(cell(row, 17));
+        sampleIdentifiers.setSsech(cell(row, 18));
+        sampleIdentifiers.setNolog(cell(row, 19));
+        sampleIdentifiers.setNole(cell(row, 20));
+        sampleIdentifiers.setAutre(cell(row, 21));
+        sampleIdentifiers.setNograp(cell(row, 22));
+        return sampleIdentifiers;
+    }
+
+    private static ContactOutcomeDto toContactOutcome(String[] row) {
+        ContactOutcomeDto contactOutcome = new ContactOutcomeDto();
+        contactOutcome.setType(cell(row, 24));
+        contactOutcome.setAttemptsNumber(cell(row, 25));
+        contactOutcome.setDateString(cell(row, 26));
+        return contactOutcome;
+    }
+
+    private static ContactAttemptDto toContactAttempt(String[] row) {
+        ContactAttemptDto contactAttempt = new ContactAttemptDto();
+        contactAttempt.setStatus(cell(row, 2));
+        contactAttempt.setDateString(cell(row, 3));
+        contactAttempt.setMedium(cell(row, 4));
+        return contactAttempt;
+    }
+
+    private static SurveyUnitStateDto toState(String[] row) {
+        SurveyUnitStateDto state = new SurveyUnitStateDto();
+        state.setType(cell(row, 2));
+        state.setDateString(cell(row, 3));
+        return state;
+    }
+
+    private static Visibility toVisibility(String[] row) {
+        Visibility visibility = new Visibility();
+        visibility.setOrganizationalUnit(cell(row, 1));
+        visibility.setCollectionStartDateString(cell(row, 2));
+        visibility.setCollectionEndDateString(cell(row, 3));
+        visibility.setIdentificationPhaseStartDateString(cell(row, 4));
+        visibility.setInterviewerStartDateString(cell(row, 5));
+        visibility.setManagementStartDateString(cell(row, 6));
+        visibility.setEndDateString(cell(row, 7));
+        return visibility;
+    }
+
+    private static Referent toReferent(String[] row) {
+        Referent referent = new Referent();
+        referent.setFirstName(cell(row, 1));
+        referent.setLastName(cell(row, 2));
+        referent.setRole(cell(row, 3));
+        referent.setPhoneNumber(cell(row, 4));
+        return referent;
+    }
+
+    /**
+     * Boolean wrapper coercion of the XML mapping : an empty cell is null
+     */
+    private static Boolean parseNullableBoolean(String value) {
+        return switch (value) {
+            case "", "null" -> null;
+            case "true", "True", "TRUE" -> Boolean.TRUE;
+            case "false", "False", "FALSE" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException(
+                    String.format("Cannot parse \"%s\" as a boolean", value));
+        };
+    }
+
+    /**
+     * Primitive boolean coercion of the XML mapping : an empty cell is false
+     */
+    private static boolean parseBoolean(String value) {
+        return Boolean.TRUE.equals(parseNullableBoolean(value));
+    }
+}
@@ -0,0 +1,145 @@
+package fr.insee.sabianedata.ws.service.stax;
+
+import fr.insee.sabianedata.ws.model.queen.*;
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+import fr.insee.sabianedata.ws.service.QueenEntityReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.cell;
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.isBlank;
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.tokenize;
+import static fr.insee.sabianedata.ws.service.stax.FodsSheets.upperCase;
+
+/**
+ * Queen extraction engine streaming the workbook and building the entities directly, without any intermediate XML.
+ * Produces the same entities as {@code queen-extract-*.xsl} mapped by Jackson.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "application.scenarios.extraction-engine", havingValue = "stax")
+public class StaxQueenEntityReader implements QueenEntityReader {
+
+    private static final String OPERATION = "operation";
+    private static final String METADATA = "metadata";
+    private static final String QUESTIONNAIRE_MODEL = "questionnaireModel";
+    private static final String NOMENCLATURES = "nomenclatures";
+    private static final String SURVEY_UNITS = "surveyUnits";
+    private static final Set<String> SHEETS = Set.of(OPERATION, METADATA, QUESTIONNAIRE_MODEL, NOMENCLATURES,
+            SURVEY_UNITS);
+
+    @Override
+    public FodsWorkbook parseWorkbook(Path fods) throws Exception {
+        long start = System.currentTimeMillis();
+        FodsSheets sheets = FodsSheetReader.read(fods, SHEETS);
+        log.info("Read queen workbook {} in {} ms", fods.getFileName(), System.currentTimeMillis() - start);
+        return sheets;
+    }
+
+    @Override
+    public QueenCampaign readCampaign(FodsWorkbook workbook) {
+        FodsSheets sheets = sheets(workbook);
+        String[] operation = sheets.row(OPERATION, 2);
+        QueenCampaign campaign = new QueenCampaign();
+        campaign.setId(upperCase(cell(operation, 1)));
+        campaign.setLabel(cell(operation, 2));
+        if (sheets.rows(METADATA).isPresent()) {
+            campaign.setMetadata(toMetadata(sheets.row(METADATA, 1), sheets.row(METADATA, 2)));
+        }
+        List<String> questionnaireIds = tokenize(cell(operation, 3)).stream().map(FodsSheets::upperCase).toList();
+        if (!questionnaireIds.isEmpty()) {
+            campaign.setQuestionnaireIds(new ArrayList<>(questionnaireIds));
+        }
+        return campaign;
+    }
+
+    @Override
+    public SurveyUnitsList readSurveyUnits(FodsWorkbook workbook) {
+        List<SurveyUnit> surveyUnits = dataRows(sheets(workbook), SURVEY_UNITS).stream().map(row -> {
+            SurveyUnit surveyUnit = new SurveyUnit();
+            surveyUnit.setId(cell(row, 1));
+            surveyUnit.setQuestionnaireId(upperCase(cell(row, 2)));
+            surveyUnit.setPersonalizationFile(cell(row, 3));
+            surveyUnit.setDataFile(cell(row, 4));
+            surveyUnit.setCommentFile(cell(row, 5));
+            surveyUnit.setStateDataFile(cell(row, 6));
+            return surveyUnit;
+        }).toList();
+        SurveyUnitsList surveyUnitsList = new SurveyUnitsList();
+        surveyUnitsList.setSurveyUnits(surveyUnits.isEmpty() ? null : new ArrayList<>(surveyUnits));
+        return surveyUnitsList;
+    }
+
+    @Override
+    public QuestionnaireModelsList readQuestionnaireModels(FodsWorkbook workbook) {
+        FodsSheets sheets = sheets(workbook);
+        List<String[]> rows = dataRows(sheets, QUESTIONNAIRE_MODEL);
+        QuestionnaireModelsList questionnaireModelsList = new QuestionnaireModelsList();
+        if (!rows.isEmpty()) {
+            String campaignId = cell(sheets.row(OPERATION, 2), 1);
+            questionnaireModelsList.setQuestionnaireModels(new ArrayList<>(rows.stream().map(row -> {
+                QuestionnaireModel questionnaireModel = new QuestionnaireModel();
+                questionnaireModel.setIdQuestionnaireModel(upperCase(cell(row, 1)));
+                questionnaireModel.setLabel(cell(row, 2));
+                questionnaireModel.setCampaignId(campaignId);
+                questionnaireModel.setRequiredNomenclatureIds(tokenize(cell(row, 3)));
+                questionnaireModel.setFileName(cell(row, 4));
+                return questionnaireModel;
+            }).toList()));
+        }
+        return questionnaireModelsList;
+    }
+
+    @Override
+    public NomenclaturesList readNomenclatures(FodsWorkbook workbook) {
+        List<Nomenclature> nomenclatures = dataRows(sheets(workbook), NOMENCLATURES).stream().map(row -> {
+            Nomenclature nomenclature = new Nomenclature(cell(row, 1), cell(row, 2));
+            nomenclature.setFileName(cell(row, 3));
+            return nomenclature;
+        }).toList();
+        NomenclaturesList nomenclaturesList = new NomenclaturesList();
+        nomenclaturesList.setNomenclatures(nomenclatures.isEmpty() ? null : new ArrayList<>(nomenclatures));
+        return nomenclaturesList;
+    }
+
+    private static MetadataDto toMetadata(String[] names, String[] values) {
+        List<Variable> variables = new ArrayList<>();
+        for (int column = 2; column <= names.length; column++) {
+            if (!cell(names, column).isEmpty()) {
+                Variable variable = new Variable();
+                variable.setName(cell(names, column));
+                variable.setValue(cell(values, column));
+                variables.add(variable);
+            }
+        }
+        MetadataValue metadataValue = new MetadataValue();
+        metadataValue.setInseeContext(cell(values, 1));
+        metadataValue.setVariables(variables);
+        MetadataDto metadata = new MetadataDto();
+        metadata.setValue(metadataValue);
+        return metadata;
+    }
+
+    private static FodsSheets sheets(FodsWorkbook workbook) {
+        if (workbook instanceof FodsSheets sheets) {
+            return sheets;
+        }
+        throw new IllegalArgumentException(
+                String.format("Workbook %s was not read by the StAX engine", workbook.file().getFileName()));
+    }
+
+    /**
+     * @return non-blank rows of a sheet, header excluded
+     */
+    private static List<String[]> dataRows(FodsSheets sheets, String sheet) {
+        List<String[]> rows = sheets.rows(sheet).orElseThrow(() -> new IllegalArgumentException(
+                String.format("Sheet '%s' is missing in %s", sheet, sheets.file().getFileName())));
+        return rows.stream().skip(1).filter(row -> !isBlank(row)).toList();
+    }
+}
@@ -1,12 +1,16 @@
 package fr.insee.sabianedata.ws.service.xsl;
 
-import java.io.File;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 
 import fr.insee.sabianedata.ws.utils.ExtractionType;
-import fr.insee.sabianedata.ws.utils.InputStreamUtil;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,45 +21,70 @@ public class PearlCampaignTransformer {
 
     private static final Logger logger = LoggerFactory.getLogger(PearlCampaignTransformer.class);
     private static final XslTransformation saxonService = new XslTransformation();
-    private static final String PEARL_EXTRACT_CAMPAIGN =  "/xslt/pearl-extract-campaign.xsl";
-    private static final String PEARL_EXTRACT_ASSIGNMENT =  "/xslt/pearl-extract-assignement.xsl";
-    private static final String PEARL_EXTRACT_SURVEY_UNITS =  "/xslt/pearl-extract-survey-units.xsl";
+    public static final String PEARL_EXTRACT_CAMPAIGN =  "/xslt/pearl-extract-campaign.xsl";
+    public static final String PEARL_EXTRACT_ASSIGNMENT =  "/xslt/pearl-extract-assignement.xsl";
+    public static final String PEARL_EXTRACT_SURVEY_UNITS =  "/xslt/pearl-extract-survey-units.xsl";
+
+    // stylesheets are compiled once and shared by every extraction
+    private final Map<ExtractionType, Templates> templates = compileTemplates();
+
+    private static Map<ExtractionType, Templates> compileTemplates() {
+        Map<ExtractionType, Templates> compiled = new EnumMap<>(ExtractionType.class);
+        try {
+            compiled.put(ExtractionType.CAMPAIGN, saxonService.compile(PEARL_EXTRACT_CAMPAIGN));
+            compiled.put(ExtractionType.ASSIGNMENT, saxonService.compile(PEARL_EXTRACT_ASSIGNMENT));
+            compiled.put(ExtractionType.SURVEY_UNITS, saxonService.compile(PEARL_EXTRACT_SURVEY_UNITS));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to compile pearl extraction stylesheets", e);
+        }
+        return Collections.unmodifiableMap(compiled);
+    }
 
-    public File extractCampaign(File input) throws Exception {
-        return extract(input, ExtractionType.CAMPAIGN);
+    public Source extractCampaign(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.CAMPAIGN);
     }
 
-    public File extractSurveyUnits(File input) throws Exception {
-        return extract(input, ExtractionType.SURVEY_UNITS);
+    public Source extractSurveyUnits(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.SURVEY_UNITS);
     }
 
-    public File extractAssignement(File input) throws Exception {
-        return extract(input, ExtractionType.ASSIGNMENT);
+    public Source extractAssignement(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.ASSIGNMENT);
     }
 
-    public File extract(File input, ExtractionType type) throws Exception {
-        File outputFile = new File(input.getParent(), type + ".xml");
-        logger.warn("Output folder : {}", outputFile.getAbsolutePath());
-
-        try (InputStream inputStream = FileUtils.openInputStream(input);
-             OutputStream outputStream = FileUtils.openOutputStream(outputFile);
-
-             InputStream xsl = switch (type) {
-                 case CAMPAIGN -> InputStreamUtil.getInputStreamFromPath(PEARL_EXTRACT_CAMPAIGN);
-                 case ASSIGNMENT -> InputStreamUtil.getInputStreamFromPath(PEARL_EXTRACT_ASSIGNMENT);
-                 case SURVEY_UNITS -> InputStreamUtil.getInputStreamFromPath(PEARL_EXTRACT_SURVEY_UNITS);
-                 case QUESTIONNAIRE_MODELS -> throw new IllegalArgumentException("Invalid type: QUESTIONNAIRE_MODELS is not supported.");
-                 case NOMENCLATURES -> throw new IllegalArgumentException("Invalid type: NOMENCLATURES is not supported.");
-             }) {
-            saxonService.transformFods2XML(inputStream, outputStream, xsl);
+    /**
+     * Parse a FODS workbook once, so that every extraction can be run against the same tree
+     *
+     * @param input the FODS file
+     * @return the parsed workbook
+     */
+    public XslWorkbook parse(Path input) throws Exception {
+        long start = System.currentTimeMillis();
+        try (InputStream inputStream = Files.newInputStream(input)) {
+            XslWorkbook workbook = new XslWorkbook(input, saxonService.buildTree(inputStream));
+            logger.info("Parsed pearl workbook {} in {} ms", input.getFileName(), System.currentTimeMillis() - start);
+            return workbook;
+        }
+    }
+
+    public Source extract(XslWorkbook workbook, ExtractionType type) throws Exception {
+        Templates xsl = templates.get(type);
+        if (xsl == null) {
+            throw new IllegalArgumentException(String.format("Invalid type: %s is not supported.", type));
+        }
+
+        long start = System.currentTimeMillis();
+        Source result;
+        try {
+            result = saxonService.transformFods2XML(workbook.tree(), xsl);
         } catch (Exception e) {
             String errorMessage = "An error was occurred during the operations fods2xml transformation. "
                     + e.getMessage();
             logger.error(errorMessage, e);
             throw new Exception(errorMessage);
         }
-        logger.info("End of extract pearl {}", type);
+        logger.info("End of extract pearl {} in {} ms", type, System.currentTimeMillis() - start);
 
-        return outputFile;
+        return result;
     }
 }
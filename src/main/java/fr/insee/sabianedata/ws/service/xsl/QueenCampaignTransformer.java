@@ -1,12 +1,16 @@
 package fr.insee.sabianedata.ws.service.xsl;
 
-import java.io.File;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 
 import fr.insee.sabianedata.ws.utils.ExtractionType;
-import fr.insee.sabianedata.ws.utils.InputStreamUtil;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,51 +23,71 @@ public class QueenCampaignTransformer {
     public static final String QUEEN_EXTRACT_SURVEY_UNITS =  "/xslt/queen-extract-survey-units.xsl";
     public static final String QUEEN_EXTRACT_NOMENCLATURES =  "/xslt/queen-extract-nomenclatures.xsl";
 
+    // stylesheets are compiled once and shared by every extraction
+    private final Map<ExtractionType, Templates> templates = compileTemplates();
 
-    public File extractCampaign(File input) throws Exception {
-        return extract(input, ExtractionType.CAMPAIGN);
+    private static Map<ExtractionType, Templates> compileTemplates() {
+        Map<ExtractionType, Templates> compiled = new EnumMap<>(ExtractionType.class);
+        try {
+            compiled.put(ExtractionType.CAMPAIGN, saxonService.compile(QUEEN_EXTRACT_CAMPAIGN));
+            compiled.put(ExtractionType.QUESTIONNAIRE_MODELS, saxonService.compile(QUEEN_EXTRACT_QUESTIONNAIRE));
+            compiled.put(ExtractionType.SURVEY_UNITS, saxonService.compile(QUEEN_EXTRACT_SURVEY_UNITS));
+            compiled.put(ExtractionType.NOMENCLATURES, saxonService.compile(QUEEN_EXTRACT_NOMENCLATURES));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to compile queen extraction stylesheets", e);
+        }
+        return Collections.unmodifiableMap(compiled);
     }
 
-    public File extractQuestionnaireModels(File input) throws Exception {
-        return extract(input, ExtractionType.QUESTIONNAIRE_MODELS);
+
+    public Source extractCampaign(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.CAMPAIGN);
     }
 
-    public File extractSurveyUnits(File input) throws Exception {
-        return extract(input, ExtractionType.SURVEY_UNITS);
+    public Source extractQuestionnaireModels(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.QUESTIONNAIRE_MODELS);
     }
 
-    public File extractNomenclatures(File input) throws Exception {
-        return extract(input, ExtractionType.NOMENCLATURES);
+    public Source extractSurveyUnits(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.SURVEY_UNITS);
     }
 
-    public File extract(File input, ExtractionType type) throws Exception {
-        File outputFile = new File(input.getParent(),type + ".xml");
-        logger.debug("Output folder : {}", outputFile.getAbsolutePath());
+    public Source extractNomenclatures(XslWorkbook workbook) throws Exception {
+        return extract(workbook, ExtractionType.NOMENCLATURES);
+    }
 
-        InputStream inputStream = FileUtils.openInputStream(input);
-        OutputStream outputStream = FileUtils.openOutputStream(outputFile);
+    /**
+     * Parse a FODS workbook once, so that every extraction can be run against the same tree
+     *
+     * @param input the FODS file
+     * @return the parsed workbook
+     */
+    public XslWorkbook parse(Path input) throws Exception {
+        long start = System.currentTimeMillis();
+        try (InputStream inputStream = Files.newInputStream(input)) {
+            XslWorkbook workbook = new XslWorkbook(input, saxonService.buildTree(inputStream));
+            logger.info("Parsed queen workbook {} in {} ms", input.getFileName(), System.currentTimeMillis() - start);
+            return workbook;
+        }
+    }
 
-        InputStream xsl = switch (type) {
-            case CAMPAIGN -> InputStreamUtil.getInputStreamFromPath(QUEEN_EXTRACT_CAMPAIGN);
-            case QUESTIONNAIRE_MODELS ->
-                    InputStreamUtil.getInputStreamFromPath(QUEEN_EXTRACT_QUESTIONNAIRE);
-            case SURVEY_UNITS -> InputStreamUtil.getInputStreamFromPath(QUEEN_EXTRACT_SURVEY_UNITS);
-            case NOMENCLATURES -> InputStreamUtil.getInputStreamFromPath(QUEEN_EXTRACT_NOMENCLATURES);
-            case ASSIGNMENT -> throw new IllegalArgumentException("Invalid type: ASSIGNMENT is not supported.");
-        };
+    public Source extract(XslWorkbook workbook, ExtractionType type) throws Exception {
+        Templates xsl = templates.get(type);
+        if (xsl == null) {
+            throw new IllegalArgumentException(String.format("Invalid type: %s is not supported.", type));
+        }
 
+        long start = System.currentTimeMillis();
+        Source result;
         try {
-            saxonService.transformFods2XML(inputStream, outputStream, xsl);
+            result = saxonService.transformFods2XML(workbook.tree(), xsl);
         } catch (Exception e) {
             String errorMessage = "An error occurred during the operations fods2xml transformation.";
             logger.error(errorMessage, e);
             throw new Exception(errorMessage);
         }
-        inputStream.close();
-        outputStream.close();
-        xsl.close();
-        logger.info("End of extract queen {}", type);
+        logger.info("End of extract queen {} in {} ms", type, System.currentTimeMillis() - start);
 
-        return outputFile;
+        return result;
     }
 }
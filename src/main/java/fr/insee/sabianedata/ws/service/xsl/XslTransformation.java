@@ -1,12 +1,16 @@
 package fr.insee.sabianedata.ws.service.xsl;
 
+import fr.insee.sabianedata.ws.utils.InputStreamUtil;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.saxon.TransformerFactoryImpl;
+import net.sf.saxon.om.NodeInfo;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 
 import javax.xml.transform.*;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 
 
@@ -18,24 +22,58 @@ import javax.xml.transform.stream.StreamSource;
 @Slf4j
 public class XslTransformation {
 
-    private final TransformerFactory tFactory = new net.sf.saxon.TransformerFactoryImpl();
+    private final TransformerFactoryImpl tFactory = new TransformerFactoryImpl();
 
     public XslTransformation() {
         tFactory.setURIResolver(new ClasspathResourceURIResolver());
     }
 
-    private void xslTransform(Transformer transformer, InputStream xmlInput, OutputStream xmlOutput) throws TransformerException {
+    private void xslTransform(Transformer transformer, Source xmlInput, Result xmlOutput) throws TransformerException {
         try {
-            transformer.transform(new StreamSource(xmlInput), new StreamResult(xmlOutput));
+            transformer.transform(xmlInput, xmlOutput);
         } catch (Exception e) {
             log.error("Error during XSL transformation", e);
             throw new TransformerException("Transformation failed", e);
         }
     }
 
-    public void transformFods2XML(InputStream inputFile, OutputStream outputFile, InputStream xslSheet) throws Exception {
-        Transformer transformer = tFactory.newTransformer(new StreamSource(xslSheet));
-        xslTransform(transformer, inputFile, outputFile);
+    /**
+     * Compile a stylesheet from the classpath once, so that it can be reused for every transformation.
+     * Compiled {@link Templates} are immutable and thread-safe.
+     *
+     * @param xslPath classpath location of the stylesheet
+     * @return the compiled stylesheet
+     */
+    public Templates compile(String xslPath) throws TransformerException, IOException {
+        try (InputStream xslSheet = InputStreamUtil.getInputStreamFromPath(xslPath)) {
+            return tFactory.newTemplates(new StreamSource(xslSheet));
+        }
+    }
+
+    /**
+     * Parse an XML document into a Saxon tree, once, so that several stylesheets can be applied to it.
+     * The tree is bound to this instance's configuration and must be transformed with templates compiled here.
+     *
+     * @param xmlInput the document to parse
+     * @return the root node of the parsed document
+     */
+    public NodeInfo buildTree(InputStream xmlInput) throws TransformerException {
+        return tFactory.getConfiguration().buildDocumentTree(new StreamSource(xmlInput)).getRootNode();
+    }
+
+    /**
+     * Apply a compiled stylesheet to a parsed document and keep the result in memory : nothing is written to disk
+     * and the result can be read back without any serialize / parse pass.
+     *
+     * @param inputTree the parsed document
+     * @param xslSheet  the compiled stylesheet
+     * @return the in-memory result of the transformation
+     */
+    public Source transformFods2XML(NodeInfo inputTree, Templates xslSheet) throws Exception {
+        Transformer transformer = xslSheet.newTransformer();
+        DOMResult result = new DOMResult();
+        xslTransform(transformer, inputTree, result);
+        return new DOMSource(result.getNode());
     }
 
     static class ClasspathResourceURIResolver implements URIResolver {
@@ -0,0 +1,15 @@
+package fr.insee.sabianedata.ws.service.xsl;
+
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+import net.sf.saxon.om.NodeInfo;
+
+import java.nio.file.Path;
+
+/**
+ * A FODS workbook parsed once into a Saxon tree, so that every extraction stylesheet can be applied to it
+ *
+ * @param file source file of the workbook
+ * @param tree root node of the parsed workbook
+ */
+public record XslWorkbook(Path file, NodeInfo tree) implements FodsWorkbook {
+}
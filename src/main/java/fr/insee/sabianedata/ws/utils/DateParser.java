@@ -26,6 +26,13 @@ public class DateParser {
     private static final Pattern dmyPattern = Pattern.compile(DMY_REGEXP);
     private static final Pattern relativeDatePattern = Pattern.compile(RELATIVE_DATE_PATTERN);
 
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Offset of a relative date which couldn't be compiled : the date is then parsed from its string when used
+     */
+    public static final long NOT_COMPILED = Long.MIN_VALUE;
+
     private static final String PATTERN_ERROR_MESSAGE = String.format(" is not parsable, right pattern is : %s",
             DMY_REGEXP);
 
@@ -58,6 +65,52 @@ public class DateParser {
         return updateDays(input, longToLdt(reference));
     }
 
+    /**
+     * Compile a relative date once, so that it is applied to many reference dates without being parsed again.
+     * Dates are in UTC, where every day lasts exactly 24 hours : the offset is a fixed number of milliseconds.
+     *
+     * @param input the string representing a date modification in days J-5 / J+99
+     * @return offset in milliseconds, {@link #NOT_COMPILED} if input is missing or doesn't respect expected format,
+     * to fail when the date is used
+     */
+    public static long compileRelativeDate(String input) {
+        if (input == null) {
+            return NOT_COMPILED;
+        }
+        Matcher matcher = relativeDatePattern.matcher(input);
+        if (!matcher.matches()) {
+            return NOT_COMPILED;
+        }
+        try {
+            long days = Long.parseLong(matcher.group("value"));
+            return Math.multiplyExact(matcher.group("operator").equals("+") ? days : -days, MILLIS_PER_DAY);
+        } catch (ArithmeticException | NumberFormatException e) {
+            return NOT_COMPILED;
+        }
+    }
+
+    /**
+     * @param offset    compiled relative date, see {@link #compileRelativeDate(String)}
+     * @param input     the relative date, parsed when it couldn't be compiled
+     * @param reference Long typed timestamp to wich the date change is to be applied
+     * @return Long typed timestamp in UTC+00:00 of updated reference date
+     * @throws IllegalArgumentException if the date wasn't compiled and input doesn't respect expected format :
+     *                                  "J([+-])([0-9]+)"
+     */
+    public static long relativeDate(long offset, String input, long reference) throws IllegalArgumentException {
+        return offset != NOT_COMPILED ? reference + offset : relativeDateParse(input, reference);
+    }
+
+    /**
+     * @param offset compiled relative date, see {@link #compileRelativeDate(String)}
+     * @param input  the fixed or relative date, parsed when it couldn't be compiled
+     * @return Long typed timestamp in UTC+00:00, relative dates being applied to the current date
+     * @throws IllegalArgumentException if the date wasn't compiled and input doesn't respect expected format
+     */
+    public static Long fixedDate(long offset, String input) throws IllegalArgumentException {
+        return offset != NOT_COMPILED ? System.currentTimeMillis() + offset : fixedDateParse(input);
+    }
+
     public static void checkIsDmyParsable(String input) {
 
         if (!dmyPattern.matcher(input).matches()) {
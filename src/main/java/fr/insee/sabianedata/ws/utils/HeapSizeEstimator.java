@@ -0,0 +1,163 @@
+package fr.insee.sabianedata.ws.utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimate the heap retained by an object graph, each object being counted once however many times it is referenced.
+ * <p>
+ * Object layouts assume a 64-bit JVM with compressed references (12-byte headers, 4-byte references, 8-byte
+ * alignment). JDK strings, boxes, collections and maps are sized from their public state, other objects from their
+ * declared fields. Enums and booleans are shared constants and cost nothing.
+ */
+public class HeapSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final ClassValue<List<Field>> REFERENCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = HEADER;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    private HeapSizeEstimator() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param root root of the object graph
+     * @return estimated bytes retained by the graph
+     */
+    public static long estimate(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        long size = 0;
+        push(pending, root);
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            if (isShared(object) || !visited.add(object)) {
+                continue;
+            }
+            size += sizeOf(object, pending);
+        }
+        return size;
+    }
+
+    // own size of an object, its references being pushed to the pending objects
+    private static long sizeOf(Object object, Deque<Object> pending) {
+        Class<?> type = object.getClass();
+        if (object instanceof String string) {
+            boolean latin1 = string.chars().allMatch(c -> c <= 0xFF);
+            return align(HEADER + 12) + align(ARRAY_HEADER + (long) string.length() * (latin1 ? 1 : 2));
+        }
+        if (object instanceof Number || object instanceof Character) {
+            return align(HEADER + 8);
+        }
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            Class<?> componentType = type.getComponentType();
+            if (!componentType.isPrimitive()) {
+                for (Object element : (Object[]) object) {
+                    push(pending, element);
+                }
+            }
+            return align(ARRAY_HEADER + (long) length * fieldSize(componentType));
+        }
+        if (isJdkType(type)) {
+            if (object instanceof Collection<?> collection) {
+                collection.forEach(element -> push(pending, element));
+                // the collection itself, and its backing array
+                return align(HEADER + 12) + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+            }
+            if (object instanceof Map<?, ?> map) {
+                map.forEach((key, value) -> {
+                    push(pending, key);
+                    push(pending, value);
+                });
+                // the map, its table and one entry per mapping
+                long table = Integer.highestOneBit(Math.max(1, map.size() * 4 / 3)) * 2L;
+                return align(HEADER + 44) + align(ARRAY_HEADER + table * REFERENCE) + map.size() * 40L;
+            }
+            return align(HEADER + 4);
+        }
+        for (Field field : REFERENCE_FIELDS.get(type)) {
+            try {
+                push(pending, field.get(object));
+            } catch (IllegalAccessException e) {
+                // not reachable once made accessible : the referenced object is left out of the estimate
+            }
+        }
+        return SHALLOW_SIZES.get(type);
+    }
+
+    private static void push(Deque<Object> pending, Object object) {
+        if (object != null) {
+            pending.push(object);
+        }
+    }
+
+    private static boolean isShared(Object object) {
+        return object instanceof Enum<?> || object instanceof Boolean || object instanceof Class<?>;
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        return type.getModule().isNamed() && type.getModule().getName().startsWith("java.");
+    }
+
+    private static long fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,143 @@
+package fr.insee.sabianedata.ws.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.insee.sabianedata.ws.model.queen.RawJson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON documents of the scenarii, by hash of their content.
+ * <p>
+ * The same files are found many times in the scenarii : survey units sharing their data, comment and
+ * personalization files, nomenclatures declared by several campaigns. Each distinct content is parsed once, and the
+ * same {@link JsonNode} or {@link RawJson} instance is handed to every entity referencing it : these documents must
+ * not be modified. Documents are only weakly held, so that they are collected along with the last scenario using
+ * them.
+ */
+public final class JsonAssetStore {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Assets<JsonNode> documents = new Assets<>();
+    private static final Assets<RawJson> rawDocuments = new Assets<>();
+
+    private JsonAssetStore() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param file JSON file
+     * @return the document of the file, shared with every file of the same content
+     */
+    public static JsonNode read(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        return documents.get(hash(content), () -> mapper.readTree(content));
+    }
+
+    /**
+     * @param file JSON file
+     * @return the document of the file, validated and stripped of its whitespace, shared with every file of the same
+     * content
+     */
+    public static RawJson readRaw(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        return rawDocuments.get(hash(content), () -> new RawJson(compact(content)));
+    }
+
+    private static byte[] compact(byte[] content) throws IOException {
+        ByteArrayOutputStream compactContent = new ByteArrayOutputStream(content.length);
+        compact(new ByteArrayInputStream(content), compactContent);
+        return compactContent.toByteArray();
+    }
+
+    /**
+     * Copy a JSON document without its whitespace. The document is parsed and written again token by token : it is
+     * validated without building its tree.
+     *
+     * @param inputStream  JSON document
+     * @param outputStream where to write the compact document, left open
+     */
+    public static void compact(InputStream inputStream, OutputStream outputStream) throws IOException {
+        try (JsonParser parser = mapper.createParser(inputStream);
+             JsonGenerator generator = mapper.createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (parser.nextToken() == null) {
+                throw new IOException("Empty JSON document");
+            }
+            generator.copyCurrentStructure(parser);
+            if (parser.nextToken() != null) {
+                throw new IOException("Unexpected content after the JSON document");
+            }
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser<T> {
+        T parse() throws IOException;
+    }
+
+    private static final class Assets<T> {
+
+        private final Map<String, AssetReference<T>> assets = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> collectedAssets = new ReferenceQueue<>();
+
+        private T get(String hash, Parser<T> parser) throws IOException {
+            expungeCollectedAssets();
+            AssetReference<T> reference = assets.get(hash);
+            T document = reference == null ? null : reference.get();
+            if (document != null) {
+                return document;
+            }
+            T parsedDocument = parser.parse();
+            // parsed concurrently : the first document stored is the one shared
+            reference = assets.compute(hash, (key, existing) -> existing != null && existing.get() != null
+                    ? existing
+                    : new AssetReference<>(key, parsedDocument, collectedAssets));
+            document = reference.get();
+            return document != null ? document : parsedDocument;
+        }
+
+        private void expungeCollectedAssets() {
+            Reference<? extends T> collected;
+            while ((collected = collectedAssets.poll()) != null) {
+                AssetReference<?> reference = (AssetReference<?>) collected;
+                assets.remove(reference.hash, reference);
+            }
+        }
+    }
+
+    private static final class AssetReference<T> extends WeakReference<T> {
+
+        private final String hash;
+
+        private AssetReference(String hash, T document, ReferenceQueue<T> collectedAssets) {
+            super(document, collectedAssets);
+            this.hash = hash;
+        }
+    }
+}
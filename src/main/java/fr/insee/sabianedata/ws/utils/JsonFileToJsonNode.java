@@ -1,12 +1,12 @@
 package fr.insee.sabianedata.ws.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.insee.sabianedata.ws.model.queen.RawJson;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 @Slf4j
 public final class JsonFileToJsonNode {
@@ -15,11 +15,14 @@ public final class JsonFileToJsonNode {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
-    public static JsonNode getJsonNodeFromFile(File file) {
+    /**
+     * @param file JSON file
+     * @return the document of the file, shared with the files of the same content : it must not be modified
+     */
+    public static JsonNode getJsonNodeFromFile(Path file) {
         JsonNode result;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            result = mapper.readTree(file);
+            result = JsonAssetStore.read(file);
         } catch (IOException e) {
             log.error("Problem with file {}", file);
             log.error("Something went wrong when mapping to JsonNode", e);
@@ -27,4 +30,21 @@ public final class JsonFileToJsonNode {
         }
         return result;
     }
+
+    /**
+     * @param file JSON file
+     * @return the compact encoding of the document of the file, shared with the files of the same content : it must
+     * not be modified
+     */
+    public static RawJson getRawJsonFromFile(Path file) {
+        RawJson result;
+        try {
+            result = JsonAssetStore.readRaw(file);
+        } catch (IOException e) {
+            log.error("Problem with file {}", file);
+            log.error("Something went wrong when reading raw JSON", e);
+            result = null;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,30 @@
+package fr.insee.sabianedata.ws.utils;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import java.io.IOException;
+
+/**
+ * Map in-memory XML (i.e. the result of an XSL transformation) to model objects, streaming its events straight to
+ * Jackson without serializing it first.
+ */
+public final class XmlSourceToObject {
+
+    private static final XmlMapper xmlMapper = new XmlMapper();
+
+    private XmlSourceToObject() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static <T> T readValue(Source source, Class<T> valueType) throws IOException {
+        try {
+            XMLStreamReader reader = xmlMapper.getFactory().getXMLInputFactory().createXMLStreamReader(source);
+            return xmlMapper.readValue(reader, valueType);
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read XML source as " + valueType.getSimpleName(), e);
+        }
+    }
+}
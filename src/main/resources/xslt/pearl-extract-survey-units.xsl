@@ -12,13 +12,16 @@
     <xsl:import href="./utils.xsl"/>
     <xsl:output indent="yes"/>
     
-    <xsl:variable name="personsSheet" select="//office:spreadsheet/table:table[@table:name='persons']"/>
-    
-    <xsl:variable name="statesSheet" select="//office:spreadsheet/table:table[@table:name='states']"/>
+    <!-- rows of the satellite sheets indexed by survey-unit id : each lookup is a hash access instead of a sheet scan -->
+    <xsl:key name="persons" match="table:table[@table:name='persons']/table:table-row" use="normalize-space(table:table-cell[1])"/>
+
+    <xsl:key name="states" match="table:table[@table:name='states']/table:table-row" use="normalize-space(table:table-cell[1])"/>
+
+    <xsl:key name="contactAttempts" match="table:table[@table:name='contactAttempts']/table:table-row" use="normalize-space(table:table-cell[1])"/>
+
+    <xsl:key name="identifications" match="table:table[@table:name='identification']/table:table-row" use="normalize-space(table:table-cell[1])"/>
 
-    <xsl:variable name="contactAttemptsSheet" select="//office:spreadsheet/table:table[@table:name='contactAttempts']"/>
-   
-    <xsl:variable name="identificationsSheet" select="//office:spreadsheet/table:table[@table:name='identification']"/>
+    <xsl:variable name="workbook" select="/"/>
 
     <xsl:variable name="campaign">
         <xsl:variable name="temp" select="//office:spreadsheet/table:table[@table:name='campaign']"/>
@@ -27,22 +30,22 @@
     
     <xsl:function name="tools:get-persons">
         <xsl:param name="idSurveyUnit"/>
-        <xsl:copy-of select="$personsSheet/table:table-row[normalize-space(table:table-cell[1])=$idSurveyUnit]"></xsl:copy-of>
+        <xsl:sequence select="key('persons', string($idSurveyUnit), $workbook)"/>
     </xsl:function>
 
     <xsl:function name="tools:get-states">
         <xsl:param name="idSurveyUnit"/>
-        <xsl:copy-of select="$statesSheet/table:table-row[normalize-space(table:table-cell[1])=$idSurveyUnit]"></xsl:copy-of>
+        <xsl:sequence select="key('states', string($idSurveyUnit), $workbook)"/>
     </xsl:function>
     
     <xsl:function name="tools:get-contactAttempts">
         <xsl:param name="idSurveyUnit"/>
-        <xsl:copy-of select="$contactAttemptsSheet/table:table-row[normalize-space(table:table-cell[1])=$idSurveyUnit]"></xsl:copy-of>
+        <xsl:sequence select="key('contactAttempts', string($idSurveyUnit), $workbook)"/>
     </xsl:function>
     
     <xsl:function name="tools:get-identification">
         <xsl:param name="idSurveyUnit"/>
-        <xsl:copy-of select="$identificationsSheet/table:table-row[normalize-space(table:table-cell[1])=$idSurveyUnit]"></xsl:copy-of>
+        <xsl:sequence select="key('identifications', string($idSurveyUnit), $workbook)"/>
     </xsl:function>
     
     <xsl:template match="/">
@@ -0,0 +1,99 @@
+package fr.insee.sabianedata.ws.service.stax;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.insee.sabianedata.ws.service.FodsWorkbook;
+import fr.insee.sabianedata.ws.service.PearlEntityReader;
+import fr.insee.sabianedata.ws.service.PearlTransformService;
+import fr.insee.sabianedata.ws.service.QueenEntityReader;
+import fr.insee.sabianedata.ws.service.QueenTransformService;
+import fr.insee.sabianedata.ws.service.SurveyUnitPartitioner;
+import fr.insee.sabianedata.ws.service.XslPearlEntityReader;
+import fr.insee.sabianedata.ws.service.XslQueenEntityReader;
+import fr.insee.sabianedata.ws.service.xsl.PearlCampaignTransformer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The StAX engine must read the same entities as the XSLT engine from every shipped campaign
+ */
+class StaxEntityReaderEquivalenceTest {
+
+    private static final Path SCENARII = Path.of("src", "main", "resources", "scenarii");
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // small partitions, so that survey units are also read concurrently
+    private static final int SURVEY_UNIT_THREADS = 4;
+    private static final int SURVEY_UNIT_PARTITION_SIZE = 2;
+    private static final SurveyUnitPartitioner surveyUnitPartitioner = new SurveyUnitPartitioner(SURVEY_UNIT_THREADS,
+            SURVEY_UNIT_PARTITION_SIZE);
+
+    private static PearlEntityReader xslPearlReader;
+    private static QueenEntityReader xslQueenReader;
+    private static PearlEntityReader staxPearlReader;
+    private static QueenEntityReader staxQueenReader;
+
+    @BeforeAll
+    static void createReaders() {
+        xslPearlReader = new XslPearlEntityReader(new PearlTransformService(new PearlCampaignTransformer()));
+        xslQueenReader = new XslQueenEntityReader(new QueenTransformService());
+        staxPearlReader = new StaxPearlEntityReader(surveyUnitPartitioner);
+        staxQueenReader = new StaxQueenEntityReader();
+    }
+
+    @AfterAll
+    static void shutdown() {
+        surveyUnitPartitioner.shutdown();
+    }
+
+    static Stream<Path> campaigns() throws Exception {
+        try (Stream<Path> files = Files.walk(SCENARII)) {
+            return files.filter(file -> file.getFileName().toString().equals("pearl_campaign.fods"))
+                    .map(file -> file.getParent().getParent())
+                    .sorted()
+                    .toList()
+                    .stream();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("campaigns")
+    void readsSamePearlEntities(Path campaign) throws Exception {
+        Path fods = campaign.resolve("pearl").resolve("pearl_campaign.fods");
+        FodsWorkbook xslWorkbook = xslPearlReader.parseWorkbook(fods);
+        FodsWorkbook staxWorkbook = staxPearlReader.parseWorkbook(fods);
+
+        assertSameJson(xslPearlReader.readCampaign(xslWorkbook), staxPearlReader.readCampaign(staxWorkbook));
+        assertSameJson(xslPearlReader.readSurveyUnits(xslWorkbook), staxPearlReader.readSurveyUnits(staxWorkbook));
+        assertSameJson(xslPearlReader.readAssignments(xslWorkbook), staxPearlReader.readAssignments(staxWorkbook));
+    }
+
+    @ParameterizedTest
+    @MethodSource("campaigns")
+    void readsSameQueenEntities(Path campaign) throws Exception {
+        Path fods = campaign.resolve("queen").resolve("queen_campaign.fods");
+        FodsWorkbook xslWorkbook = xslQueenReader.parseWorkbook(fods);
+        FodsWorkbook staxWorkbook = staxQueenReader.parseWorkbook(fods);
+
+        assertSameJson(xslQueenReader.readCampaign(xslWorkbook), staxQueenReader.readCampaign(staxWorkbook));
+        assertSameJson(xslQueenReader.readSurveyUnits(xslWorkbook), staxQueenReader.readSurveyUnits(staxWorkbook));
+        assertSameJson(xslQueenReader.readQuestionnaireModels(xslWorkbook),
+                staxQueenReader.readQuestionnaireModels(staxWorkbook));
+        assertSameJson(xslQueenReader.readNomenclatures(xslWorkbook), staxQueenReader.readNomenclatures(staxWorkbook));
+    }
+
+    // compared as trees : the order of the properties doesn't matter, the order of the lists does
+    private static void assertSameJson(Object expected, Object actual) {
+        JsonNode expectedTree = mapper.valueToTree(expected);
+        JsonNode actualTree = mapper.valueToTree(actual);
+        assertEquals(expectedTree, actualTree);
+    }
+}